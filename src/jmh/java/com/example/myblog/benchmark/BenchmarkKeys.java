@@ -0,0 +1,21 @@
+package com.example.myblog.benchmark;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * ✅ 벤치마크용 키 생성 유틸리티
+ *
+ * - 환경 변수(JWT_SECRET_KEY) 없이 JwtUtil을 만들 수 있도록 임의의 256비트 키를 생성
+ */
+final class BenchmarkKeys {
+
+    private BenchmarkKeys() {
+    }
+
+    static String randomSecretKey() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return Base64.getEncoder().encodeToString(key);
+    }
+}
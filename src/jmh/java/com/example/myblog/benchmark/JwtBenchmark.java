@@ -0,0 +1,68 @@
+package com.example.myblog.benchmark;
+
+import com.example.myblog.config.JwtUtil;
+import com.example.myblog.config.VerifiedClaims;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * ✅ JWT 발급/검증 처리량 벤치마크
+ *
+ * - generateAccessToken / generateRefreshToken: 토큰 발급 (HMAC 서명)
+ * - verify: 한 번의 파싱으로 subject + roles 추출
+ * - extractUsernameAndRoles: 기존 방식 (같은 토큰을 두 번 파싱)
+ * - validateToken: 서명/만료 검증만 수행
+ * - roleCount: roles 클레임 크기에 따른 디코딩 비용 비교
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    @Param({"1", "8"})
+    public int roleCount;
+
+    private JwtUtil jwtUtil;
+    private Set<String> roles;
+    private String accessToken;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(BenchmarkKeys.randomSecretKey());
+        roles = IntStream.range(0, roleCount)
+                .mapToObj(i -> "ROLE_BENCH_" + i)
+                .collect(Collectors.toSet());
+        accessToken = jwtUtil.generateAccessToken("bench-user@example.com", roles);
+    }
+
+    @Benchmark
+    public String generateAccessToken() {
+        return jwtUtil.generateAccessToken("bench-user@example.com", roles);
+    }
+
+    @Benchmark
+    public String generateRefreshToken() {
+        return jwtUtil.generateRefreshToken("bench-user@example.com");
+    }
+
+    @Benchmark
+    public VerifiedClaims verify() {
+        return jwtUtil.verify(accessToken);
+    }
+
+    @Benchmark
+    public void extractUsernameAndRoles(Blackhole blackhole) {
+        blackhole.consume(jwtUtil.extractUsername(accessToken));
+        blackhole.consume(jwtUtil.extractRoles(accessToken));
+    }
+
+    @Benchmark
+    public boolean validateToken() {
+        return jwtUtil.validateToken(accessToken);
+    }
+}
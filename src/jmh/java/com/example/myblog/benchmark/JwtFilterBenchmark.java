@@ -0,0 +1,96 @@
+package com.example.myblog.benchmark;
+
+import com.example.myblog.config.JwtFilter;
+import com.example.myblog.config.JwtUtil;
+import com.example.myblog.config.VerifiedTokenCache;
+import com.example.myblog.dto.UserAuthView;
+import com.example.myblog.repository.UserRepository;
+import com.example.myblog.service.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ JwtFilter 요청당 오버헤드 벤치마크
+ *
+ * - stateless=true: 검증된 클레임만으로 인증 정보 생성 (사용자 조회 없음)
+ * - stateless=false: UserDetailsServiceImpl 조회 포함 (저장소는 Mockito로 대체, 로컬 캐시 적중 경로)
+ * - cached=true: 검증 결과 메모 적중 경로 (서명 검증 생략)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JwtFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean stateless;
+
+    @Param({"false", "true"})
+    public boolean cached;
+
+    private JwtFilter jwtFilter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = new JwtUtil(BenchmarkKeys.randomSecretKey());
+        authorizationHeader = "Bearer " + jwtUtil.generateAccessToken("bench-user", Set.of("ROLE_USER"));
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findAuthViewByIdentifier("bench-user")).thenReturn(Optional.of(new BenchUser()));
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(
+                userRepository, event -> { }, 10_000, Duration.ofMinutes(5), meterRegistry);
+
+        VerifiedTokenCache verifiedTokenCache = cached ? new VerifiedTokenCache(1024, Duration.ofSeconds(30)) : null;
+        jwtFilter = new JwtFilter(jwtUtil, userDetailsService, stateless, List.of(), verifiedTokenCache, meterRegistry, 0.0);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilter() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/posts");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        jwtFilter.doFilter(request, response, new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        return response;
+    }
+
+    private static final class BenchUser implements UserAuthView {
+        @Override
+        public String getUsername() {
+            return "bench-user";
+        }
+
+        @Override
+        public String getEmail() {
+            return null;
+        }
+
+        @Override
+        public String getPassword() {
+            return "";
+        }
+
+        @Override
+        public Set<String> getRoles() {
+            return Set.of("ROLE_USER");
+        }
+
+        @Override
+        public String getOauthProvider() {
+            return null;
+        }
+    }
+}
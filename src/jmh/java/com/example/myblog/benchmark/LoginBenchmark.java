@@ -0,0 +1,113 @@
+package com.example.myblog.benchmark;
+
+import com.example.myblog.config.CalibratedPasswordEncoder;
+import com.example.myblog.config.JwtUtil;
+import com.example.myblog.config.RefreshTokenDigester;
+import com.example.myblog.dto.LoginRequest;
+import com.example.myblog.dto.TokenResponse;
+import com.example.myblog.dto.UserAuthView;
+import com.example.myblog.repository.UserRepository;
+import com.example.myblog.service.AuthService;
+import com.example.myblog.service.InMemoryRefreshTokenStore;
+import com.example.myblog.service.PasswordHashingPool;
+import com.example.myblog.service.TokenEpochService;
+import com.example.myblog.service.UserNearCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ 로그인(BCrypt 검증 포함) 지연 시간 벤치마크
+ *
+ * - bcryptMatches: PasswordEncoder.matches 단독 비용
+ * - login: AuthService.login 전체 (해싱 풀 + JWT 발급, MongoDB/Redis는 Mockito로 대체)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class LoginBenchmark {
+
+    @Param({"10", "12"})
+    public int strength;
+
+    private CalibratedPasswordEncoder passwordEncoder;
+    private PasswordHashingPool passwordHashingPool;
+    private AuthService authService;
+    private LoginRequest loginRequest;
+    private String encodedPassword;
+
+    @Setup
+    public void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new CalibratedPasswordEncoder(strength);
+        encodedPassword = passwordEncoder.encode("bench-password");
+        passwordHashingPool = new PasswordHashingPool(passwordEncoder, ForkJoinPool.commonPool(), 0, 0, Duration.ofSeconds(30), meterRegistry);
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findAuthViewByUsername("bench-user")).thenReturn(Optional.of(new BenchUser(encodedPassword)));
+
+        RefreshTokenDigester digester = new RefreshTokenDigester(BenchmarkKeys.randomSecretKey(), "binary");
+
+        authService = new AuthService(userRepository, Mockito.mock(UserNearCache.class), passwordHashingPool,
+                new JwtUtil(BenchmarkKeys.randomSecretKey()), new InMemoryRefreshTokenStore(digester, 10, Duration.ofSeconds(10)),
+                Mockito.mock(TokenEpochService.class), event -> { }, meterRegistry);
+
+        loginRequest = new LoginRequest();
+        loginRequest.setUsername("bench-user");
+        loginRequest.setPassword("bench-password");
+    }
+
+    @TearDown
+    public void tearDown() {
+        passwordHashingPool.shutdown();
+    }
+
+    @Benchmark
+    public boolean bcryptMatches() {
+        return passwordEncoder.matches("bench-password", encodedPassword);
+    }
+
+    @Benchmark
+    public TokenResponse login() {
+        return authService.login(loginRequest, "jmh").join();
+    }
+
+    private static final class BenchUser implements UserAuthView {
+        private final String password;
+
+        private BenchUser(String password) {
+            this.password = password;
+        }
+
+        @Override
+        public String getUsername() {
+            return "bench-user";
+        }
+
+        @Override
+        public String getEmail() {
+            return null;
+        }
+
+        @Override
+        public String getPassword() {
+            return password;
+        }
+
+        @Override
+        public Set<String> getRoles() {
+            return Set.of("ROLE_USER");
+        }
+
+        @Override
+        public String getOauthProvider() {
+            return null;
+        }
+    }
+}
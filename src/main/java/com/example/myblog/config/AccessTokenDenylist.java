@@ -0,0 +1,241 @@
+package com.example.myblog.config;
+
+import com.example.myblog.service.AccessTokenRevokedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * ✅ AccessTokenDenylist (폐기된 Access Token 목록)
+ *
+ * - 로그아웃한 Access Token의 jti를 만료 시각까지 서버 메모리에 보관하고, 요청마다 로컬에서만 확인 (Redis 왕복 없음)
+ * - 2단계 구조
+ *   - 만료 시각 구간(bucket)별 Bloom 필터: 대부분의 요청(폐기되지 않은 토큰)은 비트 몇 개 확인으로 끝남
+ *   - 정확한 집합(jti → 만료 시각): Bloom 필터가 "있을 수도 있음"이라고 답한 경우에만 확인 (오탐 제거)
+ *   - 구간 전체가 만료되면 Bloom 필터를 통째로 버리므로 삭제 연산이 필요 없음
+ * - 서버 간 동기화
+ *   - 폐기 시 Redis Sorted Set(`revoked_jti`, score: 만료 시각)에 기록 + Pub/Sub으로 다른 서버에 전파 (Lua 스크립트 한 번)
+ *   - 시작 시 Sorted Set에서 아직 만료되지 않은 항목을 불러와 초기화 (재시작/신규 서버 대비)
+ * - `jwt.revocation-check=denylist`일 때만 활성화
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.revocation-check", havingValue = "denylist")
+public class AccessTokenDenylist implements TokenRevocationCheck, MessageListener {
+    private static final Logger logger = LoggerFactory.getLogger(AccessTokenDenylist.class);
+
+    private static final String REVOKED_KEY = "revoked_jti";
+    private static final String REVOKED_CHANNEL = "revoked_jti:channel";
+    private static final int HASH_FUNCTIONS = 7;
+
+    // 🔥 만료된 항목 정리 + 등록 + 다른 서버에 전파 (메시지: "{jti} {만료 시각 ms}")
+    private static final RedisScript<Long> REVOKE_SCRIPT = RedisScript.of("""
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[3])
+            redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])
+            return redis.call('PUBLISH', ARGV[4], ARGV[1] .. ' ' .. ARGV[2])
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final long bucketWidthMillis;
+    private final int bitsPerBucket;
+
+    // 🔍 만료 시각 구간 번호 → Bloom 필터 / jti → 만료 시각(ms)
+    private final ConcurrentHashMap<Long, BloomBucket> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+    private final AtomicLong nextPurgeAt = new AtomicLong();
+
+    /**
+     * ✅ AccessTokenDenylist 생성자
+     *
+     * @param bucketWidth Bloom 필터 하나가 담당하는 만료 시각 구간 (Access Token 유효 시간보다 짧게)
+     * @param expectedRevocations 구간 하나에 들어올 것으로 예상하는 폐기 수 (Bloom 필터 크기 = 10비트 × 이 값, 오탐률 약 1%)
+     */
+    public AccessTokenDenylist(StringRedisTemplate redisTemplate,
+                               RedisMessageListenerContainer listenerContainer,
+                               MeterRegistry meterRegistry,
+                               @Value("${jwt.denylist.bucket-width:5m}") Duration bucketWidth,
+                               @Value("${jwt.denylist.expected-revocations:65536}") int expectedRevocations) {
+        this.redisTemplate = redisTemplate;
+        this.bucketWidthMillis = bucketWidth.toMillis();
+        this.bitsPerBucket = Integer.highestOneBit(Math.max(64, expectedRevocations * 10 - 1)) << 1; // 2의 거듭제곱으로 올림
+
+        Gauge.builder("auth.jwt.denylist.size", revoked, ConcurrentHashMap::size)
+                .description("만료 전인 폐기 Access Token 수")
+                .register(meterRegistry);
+
+        // 🔥 다른 서버의 폐기 메시지 구독
+        listenerContainer.addMessageListener(this, new ChannelTopic(REVOKED_CHANNEL));
+    }
+
+    /**
+     * ✅ 시작 시 Redis에 기록된 폐기 목록 불러오기
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void bootstrap() {
+        long now = System.currentTimeMillis();
+        try {
+            redisTemplate.opsForZSet().removeRangeByScore(REVOKED_KEY, Double.NEGATIVE_INFINITY, now);
+            Set<ZSetOperations.TypedTuple<String>> entries =
+                    redisTemplate.opsForZSet().rangeByScoreWithScores(REVOKED_KEY, now, Double.POSITIVE_INFINITY);
+            if (entries != null) {
+                entries.forEach(entry -> add(entry.getValue(), entry.getScore().longValue()));
+            }
+            logger.info("✅ Access Token 폐기 목록 로드 완료 - {}건", revoked.size());
+        } catch (DataAccessException e) {
+            logger.warn("⚠️ Access Token 폐기 목록 로드 실패 - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Access Token 폐기 (로그아웃 시 발행되는 이벤트 수신)
+     *
+     * - 로컬에 먼저 등록하므로 Redis 장애 시에도 이 서버에서는 즉시 거부됨
+     */
+    @EventListener
+    public void onRevoked(AccessTokenRevokedEvent event) {
+        if (event.getTokenId() == null || event.getExpiresAt() == null) {
+            return; // jti가 없는(도입 전 발급된) 토큰은 폐기 목록으로 관리할 수 없음
+        }
+        long expiresAt = event.getExpiresAt().toEpochMilli();
+        if (!add(event.getTokenId(), expiresAt)) {
+            return;
+        }
+
+        try {
+            redisTemplate.execute(REVOKE_SCRIPT, List.of(REVOKED_KEY), event.getTokenId(), Long.toString(expiresAt),
+                    Long.toString(System.currentTimeMillis()), REVOKED_CHANNEL);
+        } catch (DataAccessException e) {
+            logger.warn("⚠️ Access Token 폐기 전파 실패 - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ 다른 서버에서 보낸 폐기 메시지 수신 (자신이 보낸 메시지는 이미 등록되어 있으므로 무시됨)
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(" ");
+        if (parts.length == 2) {
+            add(parts[0], Long.parseLong(parts[1]));
+        }
+    }
+
+    /**
+     * ✅ 폐기 여부 확인 (요청마다 호출, 로컬 메모리만 사용)
+     *
+     * - 토큰의 만료 시각이 속한 구간의 Bloom 필터만 확인하고, 있을 수도 있을 때만 정확한 집합 확인
+     */
+    @Override
+    public boolean isRevoked(VerifiedClaims claims) {
+        String tokenId = claims.getTokenId();
+        if (tokenId == null || claims.getExpiresAt() == null || revoked.isEmpty()) {
+            return false;
+        }
+        BloomBucket bucket = buckets.get(claims.getExpiresAt().toEpochMilli() / bucketWidthMillis);
+        return bucket != null && bucket.mightContain(hash(tokenId)) && revoked.containsKey(tokenId);
+    }
+
+    /**
+     * ✅ 로컬 폐기 목록에 등록
+     *
+     * @return 새로 등록되었으면 true (이미 있거나 만료된 토큰이면 false)
+     */
+    private boolean add(String tokenId, long expiresAt) {
+        long now = System.currentTimeMillis();
+        if (expiresAt <= now) {
+            return false;
+        }
+        purgeExpired(now);
+        buckets.computeIfAbsent(expiresAt / bucketWidthMillis, key -> new BloomBucket(bitsPerBucket)).put(hash(tokenId));
+        return revoked.putIfAbsent(tokenId, expiresAt) == null;
+    }
+
+    /**
+     * ✅ 만료된 항목 정리 (구간 폭마다 최대 한 번)
+     */
+    private void purgeExpired(long now) {
+        long scheduled = nextPurgeAt.get();
+        if (now < scheduled || !nextPurgeAt.compareAndSet(scheduled, now + bucketWidthMillis)) {
+            return;
+        }
+        buckets.keySet().removeIf(bucket -> (bucket + 1) * bucketWidthMillis <= now);
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+    }
+
+    /**
+     * ✅ 64비트 해시 (FNV-1a + MurmurHash3 finalizer)
+     */
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * ✅ Bloom 필터 (비트 배열 크기는 2의 거듭제곱, 이중 해싱으로 비트 위치 계산)
+     */
+    private static final class BloomBucket {
+        private final AtomicLongArray words;
+        private final int mask;
+
+        BloomBucket(int bits) {
+            this.words = new AtomicLongArray(bits >>> 6);
+            this.mask = bits - 1;
+        }
+
+        void put(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                int bit = (h1 + i * h2) & mask;
+                long bitMask = 1L << bit;
+                int index = bit >>> 6;
+                long word;
+                while (((word = words.get(index)) & bitMask) == 0 && !words.compareAndSet(index, word, word | bitMask)) {
+                    // 🔁 다른 스레드와 경합하면 다시 시도
+                }
+            }
+        }
+
+        boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 0; i < HASH_FUNCTIONS; i++) {
+                int bit = (h1 + i * h2) & mask;
+                if ((words.get(bit >>> 6) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.myblog.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+/**
+ * ✅ CalibratedPasswordEncoder (하드웨어에 맞춰 강도를 정하는 BCrypt 인코더)
+ *
+ * - 시작 시 BCrypt 해싱 시간을 측정하여, 목표 시간 안에 끝나는 가장 높은 강도(cost)를 선택
+ * - BCrypt는 강도가 1 오를 때마다 시간이 2배가 되므로 최소 강도에서 한 번만 측정하고 나머지는 계산
+ * - 검증(matches)은 해시에 포함된 강도를 그대로 사용하므로 기존 해시도 정상 검증됨
+ * - 저장된 해시의 강도가 현재 강도보다 낮으면 `upgradeEncoding()`이 true → 로그인 시 재해싱
+ */
+public class CalibratedPasswordEncoder implements PasswordEncoder {
+    private static final Logger logger = LoggerFactory.getLogger(CalibratedPasswordEncoder.class);
+
+    private static final int BENCHMARK_SAMPLES = 3;
+
+    private final int strength;
+    private final BCryptPasswordEncoder delegate;
+
+    /**
+     * ✅ 고정 강도 인코더 생성 (벤치마크 생략)
+     *
+     * @param strength BCrypt 강도 (4 ~ 31)
+     */
+    public CalibratedPasswordEncoder(int strength) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+    }
+
+    /**
+     * ✅ 벤치마크로 강도를 정하는 인코더 생성
+     *
+     * @param targetHashTime 해싱 1회에 허용할 목표 시간
+     * @param minStrength 최소 강도 (측정 결과와 관계없이 이 값 아래로는 내려가지 않음)
+     * @param maxStrength 최대 강도
+     */
+    public static CalibratedPasswordEncoder calibrate(Duration targetHashTime, int minStrength, int maxStrength) {
+        long baseNanos = measure(minStrength);
+
+        int strength = minStrength;
+        while (strength < maxStrength && baseNanos << (strength + 1 - minStrength) <= targetHashTime.toNanos()) {
+            strength++;
+        }
+
+        logger.info("✅ BCrypt 강도 결정 - strength: {} (strength {} 측정값: {}ms, 목표: {}ms)",
+                strength, minStrength, baseNanos / 1_000_000, targetHashTime.toMillis());
+        return new CalibratedPasswordEncoder(strength);
+    }
+
+    /**
+     * ✅ 주어진 강도로 해싱 시간을 측정 (워밍업 1회 후 최솟값 사용)
+     */
+    private static long measure(int strength) {
+        BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(strength);
+        encoder.encode("benchmark-warmup");
+
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < BENCHMARK_SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.encode("benchmark-" + i);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best;
+    }
+
+    public int getStrength() {
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
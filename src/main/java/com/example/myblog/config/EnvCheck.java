@@ -1,5 +1,7 @@
 package com.example.myblog.config;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import jakarta.annotation.PostConstruct;
@@ -8,7 +10,7 @@ import jakarta.annotation.PostConstruct;
  * ✅ EnvCheck 클래스
  *
  * 이 클래스는 Spring Boot의 환경 변수 중 Google OAuth2 인증 관련 설정 값을 가져와서
- * 애플리케이션이 시작될 때 콘솔에 출력하는 역할을 합니다.
+ * 애플리케이션이 시작될 때 로그로 출력하는 역할을 합니다.
  *
  * - @Component: 스프링 빈으로 등록하여 애플리케이션 실행 시 자동으로 동작하게 함
  * - @Value: application.properties(yml)에서 설정된 값을 주입받음
@@ -16,6 +18,7 @@ import jakarta.annotation.PostConstruct;
  */
 @Component
 public class EnvCheck {
+    private static final Logger logger = LoggerFactory.getLogger(EnvCheck.class);
 
     // ✅ application.properties (또는 yml)에서 Google OAuth2 클라이언트 ID 값을 가져옴
     @Value("${spring.security.oauth2.client.registration.google.client-id}")
@@ -32,11 +35,12 @@ public class EnvCheck {
      * 즉, 애플리케이션이 시작될 때 한 번 실행됨.
      *
      * - OAuth2 설정 값이 정상적으로 로드되었는지 확인하는 용도
-     * - 실제 운영 환경에서는 보안상 client-secret 출력은 피해야 함
+     * - client-secret은 값 대신 설정 여부만 출력 (보안)
      */
     @PostConstruct
     public void init() {
-        System.out.println("🔍 GOOGLE_CLIENT_ID: " + googleClientId); // Google Client ID 출력
-        System.out.println("🔍 GOOGLE_CLIENT_SECRET: " + googleClientSecret); // Google Client Secret 출력 (운영환경에서는 제거해야 함!)
+        logger.info("🔍 GOOGLE_CLIENT_ID: {}", googleClientId); // Google Client ID 출력
+        logger.info("🔍 GOOGLE_CLIENT_SECRET: {}", // 🔒 Secret 값은 출력하지 않음
+                googleClientSecret != null && !googleClientSecret.isBlank() ? "설정됨" : "설정되지 않음");
     }
 }
@@ -0,0 +1,57 @@
+package com.example.myblog.config;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.security.Key;
+import java.util.Base64;
+
+/**
+ * ✅ HmacSigningKeys (HS256 단일 비밀 키)
+ *
+ * - `JWT_SECRET_KEY`(Base64)로 서명과 검증을 모두 수행
+ * - 비밀 키를 가진 서버만 토큰을 검증할 수 있으므로 공개할 키(JWKS)가 없음
+ * - `jwt.signing.algorithm=HS256`(기본값)일 때 활성화
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.signing.algorithm", havingValue = "HS256", matchIfMissing = true)
+public class HmacSigningKeys implements JwtSigningKeys {
+
+    private static final JwkSet EMPTY_JWK_SET = new JwkSet("{\"keys\":[]}", "\"empty\"");
+
+    private final SigningKey signingKey;
+
+    /**
+     * ✅ 환경 변수 `JWT_SECRET_KEY` 사용
+     */
+    public HmacSigningKeys() {
+        this(EnvConfig.get("JWT_SECRET_KEY"));
+    }
+
+    /**
+     * ✅ 비밀 키 직접 전달 (벤치마크/테스트용)
+     *
+     * @param secretKey Base64 인코딩된 비밀 키
+     */
+    public HmacSigningKeys(String secretKey) {
+        this.signingKey = new SigningKey(null, Keys.hmacShaKeyFor(Base64.getDecoder().decode(secretKey)), SignatureAlgorithm.HS256);
+    }
+
+    @Override
+    public SigningKey signingKey() {
+        return signingKey;
+    }
+
+    @Override
+    public Key verificationKey(String keyId, String algorithm) {
+        // 🔍 kid가 있거나 다른 알고리즘을 주장하는 토큰은 거부 (알고리즘 혼동 방지)
+        return keyId == null && SignatureAlgorithm.HS256.getValue().equals(algorithm) ? signingKey.key() : null;
+    }
+
+    @Override
+    public JwkSet jwkSet() {
+        return EMPTY_JWK_SET;
+    }
+}
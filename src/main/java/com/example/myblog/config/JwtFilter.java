@@ -2,6 +2,12 @@ package com.example.myblog.config;
 
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -9,6 +15,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -16,7 +23,10 @@ import org.springframework.security.web.authentication.WebAuthenticationDetailsS
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -27,10 +37,23 @@ import org.slf4j.LoggerFactory;
  * - 모든 요청에서 JWT를 검증하여 사용자 인증을 수행하는 필터
  * - `OncePerRequestFilter`를 상속받아 한 요청당 한 번 실행됨
  * - JWT 토큰을 검증하고, 유효하면 SecurityContextHolder에 인증 정보를 저장
+ * - 검증 시간(`auth.jwt.verify`)과 실패 사유별 횟수(`auth.jwt.verify.failures`)를 Micrometer로 기록
+ * - 요청마다 발생하는 성공 로그는 DEBUG로 기록하고, INFO는 일부 요청만 샘플링하여 기록
+ * - 검증 결과 메모(`VerifiedTokenCache`)를 켜면 같은 토큰의 서명 검증을 생략 (`auth.jwt.verify.cache{result}`로 적중률 기록)
+ * - Refresh Token(fid 클레임 포함)은 Access Token 대신 사용할 수 없음 (`AuthService.verifyAccessToken`, 토큰 검사와 같은 규칙)
  */
 public class JwtFilter extends OncePerRequestFilter {
     private final JwtUtil jwtUtil;  // JWT 유틸리티 (토큰 생성/검증 기능)
     private final UserDetailsService userDetailsService; // 사용자 정보를 로드하는 서비스
+    private final boolean statelessAuthentication; // true면 DB 조회 없이 토큰 클레임만으로 인증
+    private final List<TokenRevocationCheck> revocationChecks; // 토큰 폐기 여부 확인 (선택)
+    private final VerifiedTokenCache verifiedTokenCache; // 검증 결과 메모 (null이면 사용하지 않음)
+    private final Timer verifyTimer; // 🔍 토큰 검증 시간
+    private final Map<String, Counter> failureCounters; // 🔍 실패 사유별 횟수 (요청마다 조회하지 않도록 미리 등록)
+    private final Counter cacheHits;         // 🔍 메모 적중 (검증 성공 결과 재사용)
+    private final Counter cacheRejectedHits; // 🔍 메모 적중 (검증 실패 결과 재사용)
+    private final Counter cacheMisses;       // 🔍 메모 미스 (서명 검증 수행)
+    private final double successLogSampleRate; // 인증 성공 INFO 로그를 남길 요청 비율 (0이면 남기지 않음)
 
     private static final Logger logger = LoggerFactory.getLogger(JwtFilter.class); // 로그 기록용
 
@@ -39,10 +62,52 @@ public class JwtFilter extends OncePerRequestFilter {
      *
      * @param jwtUtil JWT 유틸리티 (토큰 생성 및 검증)
      * @param userDetailsService Spring Security의 UserDetailsService (사용자 정보 로드)
+     * @param statelessAuthentication true면 UserDetailsService 없이 검증된 클레임으로 인증 정보 생성
+     * @param revocationChecks 서명 검증 후 추가로 수행할 폐기 여부 확인 목록
+     * @param verifiedTokenCache 검증 결과 메모 (null이면 요청마다 서명 검증)
+     * @param meterRegistry 메트릭 레지스트리
+     * @param successLogSampleRate 인증 성공 INFO 로그 샘플링 비율 (0.0 ~ 1.0)
      */
-    public JwtFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public JwtFilter(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                     boolean statelessAuthentication, List<TokenRevocationCheck> revocationChecks,
+                     VerifiedTokenCache verifiedTokenCache, MeterRegistry meterRegistry, double successLogSampleRate) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.statelessAuthentication = statelessAuthentication;
+        this.revocationChecks = List.copyOf(revocationChecks);
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.successLogSampleRate = successLogSampleRate;
+        this.verifyTimer = Timer.builder("auth.jwt.verify")
+                .description("JWT 서명 검증 및 클레임 파싱 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.failureCounters = Map.of(
+                "expired", failureCounter(meterRegistry, "expired"),
+                "signature", failureCounter(meterRegistry, "signature"),
+                "unknown_key", failureCounter(meterRegistry, "unknown_key"),
+                "malformed", failureCounter(meterRegistry, "malformed"),
+                "unsupported", failureCounter(meterRegistry, "unsupported"),
+                "revoked", failureCounter(meterRegistry, "revoked"),
+                "refresh_token", failureCounter(meterRegistry, "refresh_token"),
+                "key_unavailable", failureCounter(meterRegistry, "key_unavailable"),
+                "invalid", failureCounter(meterRegistry, "invalid"));
+        this.cacheHits = cacheCounter(meterRegistry, "hit");
+        this.cacheRejectedHits = cacheCounter(meterRegistry, "rejected_hit");
+        this.cacheMisses = cacheCounter(meterRegistry, "miss");
+    }
+
+    private static Counter cacheCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("auth.jwt.verify.cache")
+                .description("JWT 검증 결과 메모 조회 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static Counter failureCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("auth.jwt.verify.failures")
+                .description("JWT 검증 실패 횟수 (사유별)")
+                .tag("reason", reason)
+                .register(meterRegistry);
     }
 
     /**
@@ -75,7 +140,7 @@ public class JwtFilter extends OncePerRequestFilter {
 
         // ✅ Authorization 헤더가 없거나, Bearer 토큰이 아닐 경우 필터 진행
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            logger.warn("⚠️ Authorization 헤더 없음 또는 Bearer 토큰 아님");
+            logger.debug("⏩ Authorization 헤더 없음 또는 Bearer 토큰 아님"); // 공개 API 요청마다 발생하므로 DEBUG
             chain.doFilter(request, response);
             return;
         }
@@ -85,22 +150,73 @@ public class JwtFilter extends OncePerRequestFilter {
         logger.debug("🔐 JWT 토큰 추출 완료");
 
         try {
-            // 🔍 JWT에서 사용자 이름과 역할 정보 추출
-            String username = jwtUtil.extractUsername(token);
-            Set<String> roles = jwtUtil.extractRoles(token);
-            logger.info("✅ 토큰 검증 성공 - 사용자: {}, 역할: {}", username, roles);
+            // 🔍 JWT를 한 번만 검증하고 사용자 이름과 역할 정보 추출 (메모에 있으면 검증 생략)
+            VerifiedClaims claims;
+            VerifiedTokenCache.Entry cached = verifiedTokenCache != null
+                    ? verifiedTokenCache.lookup(token, System.currentTimeMillis())
+                    : null;
+            if (cached != null && cached.getClaims() == null) {
+                // ❌ 최근에 검증에 실패한 토큰 (형식 오류, 서명 오류 등) → 파싱 없이 거부
+                cacheRejectedHits.increment();
+                failureCounters.get(cached.getFailureReason()).increment();
+                writeInvalidToken(response);
+                return;
+            }
+            if (cached != null) {
+                cacheHits.increment();
+                claims = cached.getClaims();
+            } else {
+                long verifyStartedAt = System.nanoTime();
+                claims = jwtUtil.verify(token);
+                verifyTimer.record(System.nanoTime() - verifyStartedAt, TimeUnit.NANOSECONDS);
+                if (verifiedTokenCache != null) {
+                    cacheMisses.increment();
+                }
+
+                // ❌ Refresh Token(fid 클레임)은 Access Token으로 받지 않음 → 실패 결과로 메모 (서명이 유효해도 항상 거부)
+                if (claims.getFamilyId() != null) {
+                    logger.warn("❌ Access Token 대신 Refresh Token 사용 - 사용자: {}", claims.getSubject());
+                    failureCounters.get("refresh_token").increment();
+                    if (verifiedTokenCache != null) {
+                        verifiedTokenCache.putRejected(token, "refresh_token", System.currentTimeMillis());
+                    }
+                    writeInvalidToken(response);
+                    return;
+                }
+                if (verifiedTokenCache != null) {
+                    verifiedTokenCache.putVerified(token, claims);
+                }
+            }
+            String username = claims.getSubject();
+            Set<String> roles = claims.getRoles();
+            if (logger.isDebugEnabled()) {
+                logger.debug("✅ 토큰 검증 성공 - 사용자: {}, 역할: {}", username, roles);
+            }
+
+            // 🔍 폐기된 토큰인지 확인 (로그아웃 등)
+            if (isRevoked(claims)) {
+                logger.warn("❌ 폐기된 토큰 - 사용자: {}", username);
+                failureCounters.get("revoked").increment();
+                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+                response.setContentType("application/json");
+                response.getWriter().write("{\"error\": \"폐기된 토큰입니다. 다시 로그인하세요.\"}");
+                return;
+            }
 
             // ✅ SecurityContextHolder에 인증 정보가 없는 경우에만 설정
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-                // 🔍 UserDetailsService를 사용해 사용자 정보를 불러옴
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
                 // 🔥 역할(Set<String>)을 Spring Security에서 사용 가능한 GrantedAuthority 리스트로 변환
                 List<GrantedAuthority> authorities = roles.stream()
                         .map(SimpleGrantedAuthority::new) // "ROLE_USER" → SimpleGrantedAuthority("ROLE_USER")
                         .collect(Collectors.toList());
 
+                // 🔍 Stateless 모드: 서명된 토큰의 클레임만으로 principal 생성 (DB 조회 없음)
+                //    기본 모드: UserDetailsService를 사용해 사용자 정보를 불러옴
+                UserDetails userDetails = statelessAuthentication
+                        ? new User(username, "", authorities)
+                        : userDetailsService.loadUserByUsername(username);
+
                 // ✅ 인증 토큰 생성 (비밀번호 정보는 필요하지 않으므로 null)
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, authorities);
@@ -110,25 +226,97 @@ public class JwtFilter extends OncePerRequestFilter {
 
                 // ✅ SecurityContext에 인증 정보 저장
                 SecurityContextHolder.getContext().setAuthentication(authToken);
-                logger.info("✅ 인증 성공: SecurityContext에 저장됨");
+                logSampledSuccess(username);
             }
         } catch (ExpiredJwtException e) {
             // ❌ 토큰이 만료된 경우
             logger.warn("❌ JWT 만료 - {}", e.getMessage()); // 로그 기록
+            failureCounters.get("expired").increment();
             response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
             response.setContentType("application/json");
             response.getWriter().write("{\"error\": \"토큰이 만료되었습니다. 다시 로그인하세요.\"}"); // 보안상 간단한 메시지 제공
             return;
+        } catch (JwtSigningKeys.KeysUnavailableException e) {
+            // ❌ 키 저장소(Redis) 장애로 검증 키를 확인하지 못한 경우 → 토큰 문제가 아니므로 503, 실패 결과를 기억하지 않음
+            logger.warn("⚠️ JWT 검증 키 조회 실패 - {}", e.getMessage());
+            failureCounters.get("key_unavailable").increment();
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader("Retry-After", "1");
+            response.setContentType("application/json");
+            response.getWriter().write("{\"error\": \"잠시 후 다시 시도해주세요.\"}");
+            return;
         } catch (JwtException e) {
             // ❌ 토큰이 유효하지 않은 경우
-            logger.error("❌ JWT 검증 실패 - {}", e.getMessage()); // 로그 기록
-            response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-            response.setContentType("application/json");
-            response.getWriter().write("{\"error\": \"유효하지 않은 토큰입니다.\"}"); // 보안상 간단한 메시지 제공
+            logger.warn("❌ JWT 검증 실패 - {}", e.getMessage()); // 로그 기록 (클라이언트 오류이므로 WARN)
+            String reason = failureReason(e);
+            failureCounters.get(reason).increment();
+            if (verifiedTokenCache != null) {
+                cacheMisses.increment();
+                // 🔥 같은 토큰이 다시 오면 파싱 생략 (검증 키를 못 찾은 경우는 다른 서버의 새 키일 수 있으므로 제외)
+                if (!(e instanceof JwtUtil.UnknownSigningKeyException)) {
+                    verifiedTokenCache.putRejected(token, reason, System.currentTimeMillis());
+                }
+            }
+            writeInvalidToken(response);
             return;
         }
 
         // ✅ 필터 체인 진행 (다음 필터로 요청 전달)
         chain.doFilter(request, response);
     }
+
+    /**
+     * ✅ 유효하지 않은 토큰 응답 (403)
+     */
+    private void writeInvalidToken(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
+        response.setContentType("application/json");
+        response.getWriter().write("{\"error\": \"유효하지 않은 토큰입니다.\"}"); // 보안상 간단한 메시지 제공
+    }
+
+    /**
+     * ✅ 인증 성공 로그 (샘플링)
+     *
+     * - 모든 요청에서 INFO 로그를 남기면 로그 I/O가 지연 시간을 늘리므로 일부 요청만 기록
+     * - DEBUG가 켜져 있으면 모든 요청을 기록
+     */
+    private void logSampledSuccess(String username) {
+        if (logger.isDebugEnabled()) {
+            logger.debug("✅ 인증 성공: SecurityContext에 저장됨 - 사용자: {}", username);
+        } else if (successLogSampleRate > 0 && logger.isInfoEnabled()
+                && ThreadLocalRandom.current().nextDouble() < successLogSampleRate) {
+            logger.info("✅ 인증 성공 (샘플링 {}) - 사용자: {}", successLogSampleRate, username);
+        }
+    }
+
+    /**
+     * ✅ 검증 실패 예외 → 메트릭 태그(reason)
+     */
+    private String failureReason(JwtException e) {
+        if (e instanceof JwtUtil.UnknownSigningKeyException) {
+            return "unknown_key";
+        }
+        if (e instanceof SignatureException) {
+            return "signature";
+        }
+        if (e instanceof MalformedJwtException) {
+            return "malformed";
+        }
+        if (e instanceof UnsupportedJwtException) {
+            return "unsupported";
+        }
+        return "invalid";
+    }
+
+    /**
+     * ✅ 등록된 폐기 확인 중 하나라도 폐기로 판단하면 true
+     */
+    private boolean isRevoked(VerifiedClaims claims) {
+        for (TokenRevocationCheck check : revocationChecks) {
+            if (check.isRevoked(claims)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
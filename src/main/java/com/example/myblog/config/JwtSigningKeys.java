@@ -0,0 +1,60 @@
+package com.example.myblog.config;
+
+import io.jsonwebtoken.SignatureAlgorithm;
+
+import java.security.Key;
+
+/**
+ * ✅ JwtSigningKeys (JWT 서명/검증 키 제공)
+ *
+ * - `JwtUtil`은 토큰을 만들 때 현재 서명 키를, 검증할 때 헤더의 kid/alg에 맞는 검증 키를 여기서 가져옴
+ * - 구현체
+ *   - `HmacSigningKeys`: `JWT_SECRET_KEY` 하나로 서명/검증 (HS256, kid 없음, 기본값)
+ *   - `RedisJwtKeyRing`: Redis에 보관하는 ES256 키 링 (주기적 교체, 공개 키는 JWKS로 공개)
+ * - `jwt.signing.algorithm`으로 선택
+ */
+public interface JwtSigningKeys {
+
+    /**
+     * ✅ 새 토큰에 사용할 서명 키
+     */
+    SigningKey signingKey();
+
+    /**
+     * ✅ 토큰 검증 키 조회
+     *
+     * @param keyId 토큰 헤더의 kid (없으면 null)
+     * @param algorithm 토큰 헤더의 alg
+     * @return 검증 키 (알 수 없는 키이거나 허용하지 않는 알고리즘이면 null)
+     * @throws KeysUnavailableException 키 저장소에 접근할 수 없어 알 수 없는 키인지 판단하지 못한 경우
+     */
+    Key verificationKey(String keyId, String algorithm);
+
+    /**
+     * ✅ 공개 키 목록 (`/.well-known/jwks.json` 응답)
+     */
+    JwkSet jwkSet();
+
+    /**
+     * ✅ 서명 키 (kid가 null이면 헤더에 kid를 넣지 않음)
+     */
+    record SigningKey(String keyId, Key key, SignatureAlgorithm algorithm) {
+    }
+
+    /**
+     * ✅ 직렬화된 JWKS 문서와 ETag (키 목록이 바뀔 때만 새로 만듦)
+     */
+    record JwkSet(String json, String etag) {
+    }
+
+    /**
+     * ✅ 키 저장소(Redis) 장애로 검증 키를 확인하지 못한 경우
+     *
+     * - 토큰이 잘못된 것은 아니므로 `JwtException`이 아님 → 호출하는 쪽에서 503으로 응답하고 실패 결과를 기억하지 않음
+     */
+    class KeysUnavailableException extends RuntimeException {
+        public KeysUnavailableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package com.example.myblog.config;
 
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 import java.security.Key;
 import java.time.Instant;
@@ -13,28 +14,54 @@ import java.util.stream.Collectors;
  *
  * - JWT 토큰 생성 (Access Token, Refresh Token)
  * - JWT 검증 및 파싱 (사용자 정보, 역할 추출)
- * - 서명 키 관리 (HMAC SHA256)
+ * - 서명 키는 `JwtSigningKeys`에서 가져옴 (HS256 단일 비밀 키 또는 ES256 키 링, kid 헤더로 검증 키 선택)
  * - 만료 시간 설정 (Access: 15분, Refresh: 7일)
  */
 @Component
 public class JwtUtil {
 
-    // ✅ 환경 변수에서 JWT 비밀 키 로드 (Base64 인코딩된 값)
-    private final String SECRET_KEY = EnvConfig.get("JWT_SECRET_KEY");
-
     // ✅ 토큰 만료 시간 설정 (단위: 밀리초)
     private final long ACCESS_TOKEN_EXPIRATION = 15 * 60 * 1000;  // 15분
     private final long REFRESH_TOKEN_EXPIRATION = 7 * 24 * 60 * 60 * 1000;  // 7일
 
+    // ✅ 파서는 시작 시 한 번만 생성하여 재사용 (불변 & 스레드 안전, 검증 키는 토큰 헤더로 조회)
+    private final JwtSigningKeys signingKeys;
+    private final JwtParser jwtParser;
+
     /**
-     * ✅ 서명 키 생성 (HMAC SHA256)
+     * ✅ JwtUtil 생성자
+     *
+     * - 토큰 헤더의 kid/alg로 검증 키를 고르는 파서를 미리 빌드해 둠
+     * - 모르는 kid이거나 허용하지 않는 알고리즘이면 서명 오류(`UnknownSigningKeyException`)로 처리
+     *
+     * @param signingKeys 서명/검증 키 제공자
+     */
+    @Autowired
+    public JwtUtil(JwtSigningKeys signingKeys) {
+        this.signingKeys = signingKeys;
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        Key key = signingKeys.verificationKey(header.getKeyId(), header.getAlgorithm());
+                        if (key == null) {
+                            throw new UnknownSigningKeyException(header.getKeyId());
+                        }
+                        return key;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * ✅ JwtUtil 생성자 (HS256 비밀 키 직접 전달)
+     *
+     * - 벤치마크 등 환경 변수 없이 생성해야 할 때 사용
      *
-     * - SECRET_KEY를 Base64 디코딩 후 HMAC SHA256 키로 변환
-     * - JWT 서명을 생성 및 검증하는데 사용됨
+     * @param secretKey Base64 인코딩된 비밀 키
      */
-    private Key getSigningKey() {
-        byte[] keyBytes = Base64.getDecoder().decode(SECRET_KEY); // Base64 디코딩
-        return Keys.hmacShaKeyFor(keyBytes); // HMAC SHA256 키 생성
+    public JwtUtil(String secretKey) {
+        this(new HmacSigningKeys(secretKey));
     }
 
     /**
@@ -45,31 +72,106 @@ public class JwtUtil {
      * @return 생성된 Access Token 문자열 (JWT)
      */
     public String generateAccessToken(String username, Set<String> roles) {
-        return Jwts.builder()
+        return generateAccessToken(username, roles, null, 0);
+    }
+
+    /**
+     * ✅ Access Token 생성 (로그인 세션 ID 포함)
+     *
+     * - sid 클레임으로 토큰을 발급한 로그인 세션(기기)을 구분 → 로그아웃 시 해당 세션만 폐기
+     * - jti 클레임(토큰 ID)으로 로그아웃한 Access Token을 만료 전에 폐기할 수 있도록 함
+     * - ver 클레임(사용자 토큰 세대 번호)으로 "모든 기기에서 로그아웃" 이전에 발급된 토큰을 한 번에 폐기
+     *
+     * @param username 사용자명 (이메일 또는 ID)
+     * @param roles 사용자의 역할 (예: ROLE_USER, ROLE_ADMIN)
+     * @param sessionId 로그인 세션 ID (Refresh Token 패밀리 ID, null이면 생략)
+     * @param tokenVersion 사용자 토큰 세대 번호 (0이면 생략)
+     * @return 생성된 Access Token 문자열 (JWT)
+     */
+    public String generateAccessToken(String username, Set<String> roles, String sessionId, long tokenVersion) {
+        JwtBuilder builder = Jwts.builder()
+                .setId(newTokenId()) // 토큰 ID (jti)
                 .setSubject(username)  // 사용자 식별 값 (예: 이메일)
-                .claim("roles", roles)  // 사용자의 역할(권한) 추가
+                .claim("roles", roles);  // 사용자의 역할(권한) 추가
+        if (sessionId != null) {
+            builder.claim("sid", sessionId); // 로그인 세션 ID
+        }
+        if (tokenVersion > 0) {
+            builder.claim("ver", tokenVersion); // 사용자 토큰 세대 번호
+        }
+        return sign(builder
                 .setIssuedAt(Date.from(Instant.now())) // 토큰 발급 시간
-                .setExpiration(Date.from(Instant.now().plusMillis(ACCESS_TOKEN_EXPIRATION))) // 만료 시간
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256) // HMAC SHA256 서명 적용
-                .compact(); // JWT 문자열 생성
+                .setExpiration(Date.from(Instant.now().plusMillis(ACCESS_TOKEN_EXPIRATION)))); // 만료 시간
     }
 
     /**
-     * ✅ Refresh Token 생성
+     * ✅ Refresh Token 생성 (새 토큰 패밀리 시작)
      *
-     * - Refresh Token은 역할 정보 없이 사용자명만 저장
-     * - Access Token을 재발급할 때 사용됨
+     * - 로그인할 때마다 새 패밀리 ID를 발급
      *
      * @param username 사용자명
      * @return 생성된 Refresh Token (JWT)
      */
     public String generateRefreshToken(String username) {
-        return Jwts.builder()
+        return generateRefreshToken(username, newTokenId());
+    }
+
+    /**
+     * ✅ Refresh Token 생성
+     *
+     * - Refresh Token은 역할 정보 없이 사용자명, 패밀리 ID(fid), 토큰 ID(jti)만 저장
+     * - 토큰을 갱신(회전)할 때는 같은 패밀리 ID를 이어받음 → 재사용 감지 시 패밀리 전체를 폐기
+     * - jti 덕분에 같은 초에 발급된 토큰도 서로 다른 문자열이 됨 (iat는 초 단위)
+     *
+     * @param username 사용자명
+     * @param familyId 토큰 패밀리 ID (로그인 1회 = 패밀리 1개)
+     * @return 생성된 Refresh Token (JWT)
+     */
+    public String generateRefreshToken(String username, String familyId) {
+        return sign(Jwts.builder()
                 .setSubject(username) // 사용자명 저장
+                .setId(newTokenId()) // 토큰 ID (jti)
+                .claim("fid", familyId) // 토큰 패밀리 ID
                 .setIssuedAt(Date.from(Instant.now())) // 발급 시간
-                .setExpiration(Date.from(Instant.now().plusMillis(REFRESH_TOKEN_EXPIRATION))) // 만료 시간 (7일)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256) // 서명
-                .compact();
+                .setExpiration(Date.from(Instant.now().plusMillis(REFRESH_TOKEN_EXPIRATION)))); // 만료 시간 (7일)
+    }
+
+    /**
+     * ✅ 현재 서명 키로 서명 (키 링을 사용하면 헤더에 kid 추가)
+     */
+    private String sign(JwtBuilder builder) {
+        JwtSigningKeys.SigningKey key = signingKeys.signingKey();
+        if (key.keyId() != null) {
+            builder.setHeaderParam(JwsHeader.KEY_ID, key.keyId()); // 검증 시 공개 키 선택용
+        }
+        return builder
+                .signWith(key.key(), key.algorithm()) // HS256 또는 ES256 서명 적용
+                .compact(); // JWT 문자열 생성
+    }
+
+    /**
+     * ✅ 토큰 검증 및 파싱 (한 번만 수행)
+     *
+     * - 서명과 만료 시간을 검증한 뒤, 필요한 클레임을 불변 객체로 반환
+     * - 같은 요청에서 사용자명과 역할이 모두 필요할 때 이 메서드를 사용해야 함
+     *
+     * @param token JWT 문자열
+     * @return 검증된 클레임 (subject, roles, iat, exp, jti, fid, sid, ver)
+     * @throws JwtException 토큰이 만료되었거나 서명이 유효하지 않은 경우
+     */
+    public VerifiedClaims verify(String token) {
+        Claims claims = jwtParser.parseClaimsJws(token).getBody(); // 토큰 파싱 (유효하지 않으면 예외 발생)
+
+        return new VerifiedClaims(
+                claims.getSubject(),
+                toRoles(claims.get("roles")),
+                claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null,
+                claims.getExpiration() != null ? claims.getExpiration().toInstant() : null,
+                claims.getId(),
+                claims.get("fid", String.class),
+                claims.get("sid", String.class),
+                claims.get("ver") instanceof Number version ? version.longValue() : 0
+        );
     }
 
     /**
@@ -79,12 +181,7 @@ public class JwtUtil {
      * @return 사용자명 (토큰의 Subject 필드 값)
      */
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey()) // 서명 키 설정
-                .build()
-                .parseClaimsJws(token) // 토큰 파싱
-                .getBody()
-                .getSubject(); // Subject 값 반환 (username)
+        return verify(token).getSubject();
     }
 
     /**
@@ -94,19 +191,7 @@ public class JwtUtil {
      * @return 사용자의 역할 목록 (예: ["ROLE_USER", "ROLE_ADMIN"])
      */
     public Set<String> extractRoles(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey()) // 서명 키 설정
-                .build()
-                .parseClaimsJws(token) // 토큰 파싱
-                .getBody(); // Claims(토큰 정보) 추출
-
-        Object rolesObject = claims.get("roles"); // "roles" 필드 값 가져오기
-        if (rolesObject instanceof Collection<?>) {
-            return ((Collection<?>) rolesObject).stream()
-                    .map(Object::toString) // 문자열로 변환
-                    .collect(Collectors.toSet());
-        }
-        return new HashSet<>(); // 역할 정보가 없으면 빈 Set 반환
+        return verify(token).getRoles();
     }
 
     /**
@@ -120,16 +205,32 @@ public class JwtUtil {
      */
     public boolean validateToken(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey()) // 서명 키 설정
-                    .build()
-                    .parseClaimsJws(token); // 토큰 파싱 (유효하지 않으면 예외 발생)
+            jwtParser.parseClaimsJws(token); // 토큰 파싱 (유효하지 않으면 예외 발생)
             return true; // 유효한 토큰
         } catch (JwtException e) {
             return false; // 유효하지 않은 토큰
         }
     }
 
+    /**
+     * ✅ "roles" 클레임 값을 Set<String>으로 변환
+     */
+    private Set<String> toRoles(Object rolesObject) {
+        if (rolesObject instanceof Collection<?>) {
+            return ((Collection<?>) rolesObject).stream()
+                    .map(Object::toString) // 문자열로 변환
+                    .collect(Collectors.toSet());
+        }
+        return Collections.emptySet(); // 역할 정보가 없으면 빈 Set 반환
+    }
+
+    /**
+     * ✅ 토큰 ID / 패밀리 ID 생성 (랜덤 UUID)
+     */
+    public static String newTokenId() {
+        return UUID.randomUUID().toString();
+    }
+
     /**
      * ✅ 리프레시 토큰의 유효 시간(밀리초) 반환
      *
@@ -138,4 +239,16 @@ public class JwtUtil {
     public long getRefreshTokenExpiration() {
         return REFRESH_TOKEN_EXPIRATION;
     }
+
+    /**
+     * ✅ 토큰 헤더의 kid/alg에 맞는 검증 키를 찾지 못한 경우
+     *
+     * - 다른 서버가 방금 만든 키라 아직 불러오지 못했을 수 있으므로 일시적인 실패일 수 있음
+     *   → 검증 실패 결과를 캐시하는 곳에서는 저장하지 않아야 함
+     */
+    public static class UnknownSigningKeyException extends SignatureException {
+        public UnknownSigningKeyException(String keyId) {
+            super("알 수 없는 서명 키입니다 - kid: " + keyId);
+        }
+    }
 }
@@ -0,0 +1,159 @@
+package com.example.myblog.config;
+
+import com.example.myblog.entity.RefreshToken;
+import com.example.myblog.entity.User;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexDefinition;
+import org.springframework.data.mongodb.core.index.PartialIndexFilter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ✅ MongoDB 인덱스 초기화
+ *
+ * - 애플리케이션 시작 시 `users`, `refresh_tokens` 컬렉션의 인덱스를 생성 (이미 있으면 그대로 유지)
+ * - Repository 메서드가 컬렉션 전체 스캔(COLLSCAN) 대신 인덱스를 사용하도록 보장
+ * - `auth.mongo.explain-on-startup=true`이면 각 Repository 쿼리의 실행 계획(winning plan)을 로그로 출력
+ *
+ * 📌 username 고유 인덱스는 비밀번호가 있는(일반 로그인) 사용자에게만 적용
+ *    - OAuth 사용자는 Google 표시 이름을 username으로 저장하므로 중복될 수 있음
+ *    - 부분 인덱스는 조회에 쓰이지 않으므로, 조회용으로 `{username, email}` 복합 인덱스를 별도로 생성
+ */
+@Component
+public class MongoIndexInitializer {
+    private static final Logger logger = LoggerFactory.getLogger(MongoIndexInitializer.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final boolean explainOnStartup;
+
+    public MongoIndexInitializer(MongoTemplate mongoTemplate,
+                                 @Value("${auth.mongo.explain-on-startup:false}") boolean explainOnStartup) {
+        this.mongoTemplate = mongoTemplate;
+        this.explainOnStartup = explainOnStartup;
+    }
+
+    /**
+     * ✅ 애플리케이션 준비 완료 시 인덱스 생성 및 (선택) 실행 계획 검증
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void initIndexes() {
+        // 🔥 users 컬렉션
+        ensureIndex(User.class, new Index().on("email", Sort.Direction.ASC)
+                .unique().sparse().named("uk_users_email"));
+        ensureIndex(User.class, new Index().on("username", Sort.Direction.ASC)
+                .unique()
+                .partial(PartialIndexFilter.of(Criteria.where("password").exists(true)))
+                .named("uk_users_username_local"));
+        ensureIndex(User.class, new Index().on("username", Sort.Direction.ASC).on("email", Sort.Direction.ASC)
+                .named("ix_users_username_email"));
+
+        // 🔥 refresh_tokens 컬렉션 (auth.refresh-token.store=mongo일 때 사용)
+        ensureIndex(RefreshToken.class, new Index().on("userId", Sort.Direction.ASC).on("expiryDate", Sort.Direction.ASC)
+                .named("ix_refresh_tokens_user_id_expiry_date"));
+        ensureIndex(RefreshToken.class, new Index().on("expiryDate", Sort.Direction.ASC)
+                .expire(0, TimeUnit.SECONDS) // ⏰ expiryDate 시각이 지나면 MongoDB가 자동 삭제
+                .named("ttl_refresh_tokens_expiry_date"));
+
+        if (explainOnStartup) {
+            logQueryPlans();
+        }
+    }
+
+    /**
+     * ✅ 인덱스 생성 (실패해도 애플리케이션 시작은 계속 진행)
+     *
+     * - 기존 데이터에 중복 값이 있으면 고유 인덱스 생성이 실패하므로 에러 로그로 알림
+     */
+    private void ensureIndex(Class<?> entityClass, IndexDefinition index) {
+        try {
+            String name = mongoTemplate.indexOps(entityClass).ensureIndex(index);
+            logger.info("✅ MongoDB 인덱스 확인 완료 - {}.{}", mongoTemplate.getCollectionName(entityClass), name);
+        } catch (DataAccessException e) {
+            logger.error("❌ MongoDB 인덱스 생성 실패 - {} {}: {}",
+                    mongoTemplate.getCollectionName(entityClass), index.getIndexKeys(), e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ Repository 메서드별 쿼리 실행 계획 출력
+     *
+     * - 각 메서드가 생성하는 필터와 같은 조건으로 explain을 실행
+     * - IXSCAN이면 인덱스 사용, COLLSCAN이면 전체 스캔
+     */
+    private void logQueryPlans() {
+        Map<String, Document> userQueries = new LinkedHashMap<>();
+        userQueries.put("UserRepository.findByUsername / existsByUsername", new Document("username", "explain"));
+        userQueries.put("UserRepository.findByEmail / existsByEmail / upsertOAuthUser", new Document("email", "explain@example.com"));
+        userQueries.put("UserRepository.findAuthViewsByIdentifier / findProfilesByIdentifier", new Document("$or", List.of(
+                new Document("username", "explain"), new Document("email", "explain"))));
+
+        Map<String, Document> tokenQueries = new LinkedHashMap<>();
+        tokenQueries.put("MongoRefreshTokenStore.findSessions / exists / save", new Document("userId", "explain")
+                .append("expiryDate", new Document("$gt", new Date())));
+        tokenQueries.put("MongoRefreshTokenStore.deleteAll", new Document("userId", "explain"));
+
+        explain(User.class, userQueries);
+        explain(RefreshToken.class, tokenQueries);
+    }
+
+    private void explain(Class<?> entityClass, Map<String, Document> queries) {
+        String collection = mongoTemplate.getCollectionName(entityClass);
+        queries.forEach((method, filter) -> {
+            try {
+                Document plan = mongoTemplate.getCollection(collection).find(filter).explain();
+                logger.info("🔍 쿼리 계획 - {} {} → {}", method, filter.toJson(), describeWinningPlan(plan));
+            } catch (RuntimeException e) {
+                logger.warn("⚠️ 쿼리 계획 확인 실패 - {}: {}", method, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * ✅ explain 결과에서 winning plan의 스테이지와 인덱스 이름을 추출
+     *
+     * - 예: "FETCH > IXSCAN(uk_users_email)"
+     */
+    private String describeWinningPlan(Document explain) {
+        Document queryPlanner = explain.get("queryPlanner", Document.class);
+        Document stage = queryPlanner != null ? queryPlanner.get("winningPlan", Document.class) : null;
+        if (stage != null && stage.containsKey("queryPlan")) {
+            stage = stage.get("queryPlan", Document.class); // MongoDB 7+ (SBE) 형식
+        }
+
+        StringBuilder description = new StringBuilder();
+        while (stage != null) {
+            if (!description.isEmpty()) {
+                description.append(" > ");
+            }
+            description.append(stage.getString("stage"));
+            if (stage.containsKey("indexName")) {
+                description.append('(').append(stage.getString("indexName")).append(')');
+            }
+            stage = nextStage(stage);
+        }
+        return description.isEmpty() ? "알 수 없음" : description.toString();
+    }
+
+    private Document nextStage(Document stage) {
+        if (stage.containsKey("inputStage")) {
+            return stage.get("inputStage", Document.class);
+        }
+        List<?> inputStages = stage.getList("inputStages", Object.class);
+        return inputStages != null && !inputStages.isEmpty() ? (Document) inputStages.get(0) : null;
+    }
+}
@@ -4,6 +4,8 @@ import com.example.myblog.dto.TokenResponse;
 import com.example.myblog.service.OAuth2UserService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.security.web.authentication.AuthenticationSuccessHandler;
@@ -22,6 +24,8 @@ import java.nio.charset.StandardCharsets;
  */
 @Component
 public class OAuthSuccessHandler implements AuthenticationSuccessHandler {
+    private static final Logger logger = LoggerFactory.getLogger(OAuthSuccessHandler.class);
+
     private final OAuth2UserService oAuth2UserService;
 
     /**
@@ -43,15 +47,15 @@ public class OAuthSuccessHandler implements AuthenticationSuccessHandler {
      */
     @Override
     public void onAuthenticationSuccess(HttpServletRequest request, HttpServletResponse response, Authentication authentication) throws IOException {
-        System.out.println("✅ OAuth 로그인 성공!"); // ✅ 로그 확인
+        logger.debug("✅ OAuth 로그인 성공!"); // ✅ 로그 확인
 
         // 🔥 OAuth2 로그인한 사용자 정보 가져오기
         OAuth2User oAuth2User = (OAuth2User) authentication.getPrincipal();
 
         // 🔥 OAuth2User 정보를 기반으로 사용자 저장 + JWT 발급
-        TokenResponse tokenResponse = oAuth2UserService.processOAuthUser(oAuth2User);
+        TokenResponse tokenResponse = oAuth2UserService.processOAuthUser(oAuth2User, request.getHeader("User-Agent"));
 
-        System.out.println("✅ JWT 발급 완료! Access Token: " + tokenResponse.getAccessToken());
+        logger.info("✅ JWT 발급 완료 - email: {}", oAuth2User.<String>getAttribute("email")); // 🔒 토큰 값은 로그에 남기지 않음
 
         // 🔥 프론트엔드에 JWT 전달을 위한 URL 생성 (URL 인코딩 적용)
         String redirectUrl = "http://localhost:8080/api/auth/oauth-success"
@@ -1,10 +1,14 @@
 package com.example.myblog.config;
 
+import io.lettuce.core.resource.ClientResources;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 /**
@@ -22,12 +26,17 @@ public class RedisConfig {
      *
      * - Redis 서버와 연결을 관리하는 역할
      * - LettuceConnectionFactory를 사용하여 싱글톤으로 관리
+     * - Spring Boot가 만든 ClientResources를 사용하여 명령별 지연 시간 메트릭(`lettuce.command.*`)을 수집
      *
+     * @param clientResources Lettuce 클라이언트 리소스 (Micrometer 지연 시간 기록기 포함)
      * @return RedisConnectionFactory 객체
      */
     @Bean
-    public RedisConnectionFactory redisConnectionFactory() {
-        return new LettuceConnectionFactory(); // ✅ 싱글톤 유지
+    public RedisConnectionFactory redisConnectionFactory(ClientResources clientResources) {
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .clientResources(clientResources)
+                .build();
+        return new LettuceConnectionFactory(new RedisStandaloneConfiguration(), clientConfiguration); // ✅ 싱글톤 유지
     }
 
     /**
@@ -51,4 +60,20 @@ public class RedisConfig {
 
         return template;
     }
+
+    /**
+     * ✅ Redis Pub/Sub 메시지 리스너 컨테이너
+     *
+     * - 서버(replica) 간 캐시 무효화 메시지 등을 수신하기 위해 사용
+     * - 기존 RedisConnectionFactory(Lettuce) 연결을 그대로 사용
+     *
+     * @param redisConnectionFactory Redis 연결 팩토리
+     * @return RedisMessageListenerContainer 객체
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(RedisConnectionFactory redisConnectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        return container;
+    }
 }
@@ -0,0 +1,381 @@
+package com.example.myblog.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Cipher;
+import javax.crypto.Mac;
+import javax.crypto.spec.GCMParameterSpec;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.*;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * ✅ RedisJwtKeyRing (ES256 서명 키 링)
+ *
+ * - 모든 서버가 Redis Hash(`jwt_keys`, kid → "{생성 시각 ms}:{공개 키}:{암호화된 개인 키}")의 키를 공유
+ *   - 개인 키는 AES-256-GCM으로 암호화해 저장 (kid를 AAD로 사용), Redis 덤프가 유출되어도 토큰을 위조할 수 없음
+ *   - 암호화 키를 따로 지정하지 않으면 `JWT_SECRET_KEY`에서 용도별 키를 파생하여 사용
+ * - 키 교체
+ *   - `rotation-interval`마다 새 키를 만들고, 여러 서버가 동시에 시도해도 Lua 스크립트로 한 서버만 성공
+ *   - 새 키는 JWKS 캐시 시간(`jwt.jwks.max-age`)이 지난 뒤에 서명에 사용 → 검증하는 쪽이 새 kid를 모르는 상황 방지
+ *   - 교체된 키는 `key-retention` 동안 검증용으로 유지 (Refresh Token 유효 기간 이상이어야 함)
+ * - 검증
+ *   - 토큰 헤더의 kid로 공개 키를 찾고, 모르는 kid면 Redis에서 다시 불러옴 (초당 최대 1회)
+ *   - Redis 장애로 불러오지 못하면 `KeysUnavailableException` (모르는 키로 판단하지 않음, 응답은 503)
+ *   - `accept-legacy-hmac=true`면 전환 전에 발급된 HS256 토큰(kid 없음)도 `JWT_SECRET_KEY`로 검증
+ * - `jwt.signing.algorithm=ES256`일 때만 활성화
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.signing.algorithm", havingValue = "ES256")
+public class RedisJwtKeyRing implements JwtSigningKeys {
+    private static final Logger logger = LoggerFactory.getLogger(RedisJwtKeyRing.class);
+
+    private static final String KEYS_KEY = "jwt_keys";
+    private static final String NEWEST_KEY = "jwt_keys:newest";
+    private static final byte[] KEY_DERIVATION_LABEL = "jwt-signing-key-encryption".getBytes(StandardCharsets.UTF_8);
+    private static final int GCM_IV_LENGTH = 12;
+    private static final int GCM_TAG_BITS = 128;
+    private static final long MIN_RELOAD_INTERVAL_MILLIS = 1000;
+
+    // 🔥 가장 최근 키가 교체 주기보다 오래되었을 때만 새 키 등록 (동시에 시도한 서버 중 하나만 성공)
+    private static final RedisScript<String> ROTATE_SCRIPT = RedisScript.of("""
+            local newest = redis.call('GET', KEYS[2])
+            if newest then
+                local stored = redis.call('HGET', KEYS[1], newest)
+                if stored and tonumber(ARGV[3]) - tonumber(string.match(stored, '^(%d+):')) < tonumber(ARGV[4]) then
+                    return newest
+                end
+            end
+            redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+            redis.call('SET', KEYS[2], ARGV[1])
+            return ARGV[1]
+            """, String.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec encryptionKey;
+    private final Key legacyHmacKey; // 전환 전 HS256 토큰 검증용 (허용하지 않으면 null)
+    private final long rotationIntervalMillis;
+    private final long retentionMillis;
+    private final long publishDelayMillis;
+    private final SecureRandom random = new SecureRandom();
+    private final AtomicLong lastReloadAt = new AtomicLong();
+    private volatile boolean reloadFailed; // 마지막 Redis 조회 실패 여부 (재시도 제한 중에도 모르는 kid를 장애로 응답)
+
+    private volatile Ring ring;
+
+    /**
+     * ✅ RedisJwtKeyRing 생성자
+     *
+     * @param keyEncryptionKey Base64 인코딩된 AES-256 키 (비어 있으면 `JWT_SECRET_KEY`에서 파생)
+     * @param rotationInterval 새 서명 키를 만드는 주기
+     * @param keyRetention 교체된 키를 검증용으로 유지하는 기간 (Refresh Token 유효 기간 이상)
+     * @param acceptLegacyHmac 전환 전에 발급된 HS256 토큰 허용 여부
+     * @param jwksMaxAge JWKS 응답 캐시 시간 (새 키는 이 시간이 지난 뒤 서명에 사용)
+     */
+    public RedisJwtKeyRing(StringRedisTemplate redisTemplate,
+                           ObjectMapper objectMapper,
+                           @Value("${jwt.signing.key-encryption-key:}") String keyEncryptionKey,
+                           @Value("${jwt.signing.rotation-interval:1d}") Duration rotationInterval,
+                           @Value("${jwt.signing.key-retention:8d}") Duration keyRetention,
+                           @Value("${jwt.signing.accept-legacy-hmac:true}") boolean acceptLegacyHmac,
+                           @Value("${jwt.jwks.max-age:10m}") Duration jwksMaxAge) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        String jwtSecretKey = acceptLegacyHmac ? EnvConfig.get("JWT_SECRET_KEY", "") : "";
+        byte[] encryptionKeyBytes = keyEncryptionKey.isBlank()
+                ? hmac(Base64.getDecoder().decode(EnvConfig.get("JWT_SECRET_KEY")), KEY_DERIVATION_LABEL)
+                : Base64.getDecoder().decode(keyEncryptionKey);
+        this.encryptionKey = new SecretKeySpec(encryptionKeyBytes, "AES");
+        this.legacyHmacKey = !jwtSecretKey.isBlank()
+                ? Keys.hmacShaKeyFor(Base64.getDecoder().decode(jwtSecretKey))
+                : null;
+        this.rotationIntervalMillis = rotationInterval.toMillis();
+        this.retentionMillis = keyRetention.toMillis();
+        this.publishDelayMillis = jwksMaxAge.toMillis();
+    }
+
+    @Override
+    public SigningKey signingKey() {
+        return ring().active();
+    }
+
+    @Override
+    public Key verificationKey(String keyId, String algorithm) {
+        if (keyId == null) {
+            return SignatureAlgorithm.HS256.getValue().equals(algorithm) ? legacyHmacKey : null;
+        }
+        if (!SignatureAlgorithm.ES256.getValue().equals(algorithm)) {
+            return null; // ❌ kid가 있는데 다른 알고리즘을 주장하는 토큰 (알고리즘 혼동 방지)
+        }
+        try {
+            KeyEntry entry = ring().keys().get(keyId);
+            if (entry == null && reloadAllowed()) {
+                entry = reload().keys().get(keyId); // 🔍 다른 서버가 방금 만든 키일 수 있음
+            } else if (entry == null && reloadFailed) {
+                throw new KeysUnavailableException("JWT 검증 키를 다시 불러오지 못했습니다 - kid: " + keyId, null);
+            }
+            return entry != null ? entry.publicKey() : null;
+        } catch (DataAccessException e) {
+            // ❌ Redis 장애 → 모르는 키로 판단하지 않음 (JwtFilter에서 503)
+            throw new KeysUnavailableException("JWT 검증 키를 불러올 수 없습니다 - kid: " + keyId, e);
+        }
+    }
+
+    @Override
+    public JwkSet jwkSet() {
+        return ring().jwkSet();
+    }
+
+    /**
+     * ✅ 주기적인 키 관리 (교체 → 오래된 키 정리 → 다시 불러오기)
+     */
+    @Scheduled(fixedDelayString = "${jwt.signing.refresh-interval:1m}")
+    public void maintain() {
+        try {
+            rotateIfDue();
+            prune();
+            reload();
+        } catch (DataAccessException | IllegalStateException e) {
+            logger.warn("⚠️ JWT 서명 키 관리 실패 - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ 현재 키 링 (처음 호출 시 Redis에서 불러오고, 키가 없으면 만듦)
+     */
+    private Ring ring() {
+        Ring current = ring;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (ring == null) {
+                rotateIfDue();
+                reload();
+            }
+            return ring;
+        }
+    }
+
+    /**
+     * ✅ 교체 주기가 지났으면 새 키 등록 시도
+     */
+    private void rotateIfDue() {
+        long now = System.currentTimeMillis();
+        Ring current = ring;
+        if (current != null && now - current.newestCreatedAt() < rotationIntervalMillis) {
+            return; // 로컬 정보로 충분히 판단 가능하면 키 생성 생략
+        }
+
+        KeyPair keyPair = generateKeyPair();
+        String keyId = JwtUtil.newTokenId();
+        String stored = now + ":" + encode(keyPair.getPublic().getEncoded()) + ":"
+                + encode(encrypt(keyId, keyPair.getPrivate().getEncoded()));
+        String newest = redisTemplate.execute(ROTATE_SCRIPT, List.of(KEYS_KEY, NEWEST_KEY),
+                keyId, stored, Long.toString(now), Long.toString(rotationIntervalMillis));
+        if (keyId.equals(newest)) {
+            logger.info("✅ 새 JWT 서명 키 생성 - kid: {}", keyId);
+        }
+    }
+
+    /**
+     * ✅ 더 이상 필요 없는 키 삭제
+     *
+     * - 다음 키가 서명에 쓰이기 시작한 뒤 `key-retention`이 지나면 그 키로 서명된 토큰은 모두 만료됨
+     */
+    private void prune() {
+        Ring current = ring;
+        if (current == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        List<KeyEntry> entries = current.sortedByCreatedAt();
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < entries.size() - 1; i++) {
+            if (entries.get(i + 1).createdAt() + publishDelayMillis + retentionMillis < now) {
+                expired.add(entries.get(i).keyId());
+            }
+        }
+        if (!expired.isEmpty()) {
+            redisTemplate.opsForHash().delete(KEYS_KEY, expired.toArray());
+            logger.info("✅ 만료된 JWT 서명 키 삭제 - kid: {}", expired);
+        }
+    }
+
+    private boolean reloadAllowed() {
+        long now = System.currentTimeMillis();
+        long last = lastReloadAt.get();
+        return now - last >= MIN_RELOAD_INTERVAL_MILLIS && lastReloadAt.compareAndSet(last, now);
+    }
+
+    /**
+     * ✅ Redis에서 키 목록을 불러와 키 링 재구성
+     */
+    private Ring reload() {
+        lastReloadAt.set(System.currentTimeMillis());
+        Map<Object, Object> stored;
+        try {
+            stored = redisTemplate.opsForHash().entries(KEYS_KEY);
+        } catch (DataAccessException e) {
+            reloadFailed = true;
+            throw e;
+        }
+        reloadFailed = false;
+        if (stored.isEmpty()) {
+            throw new IllegalStateException("Redis에 JWT 서명 키가 없습니다.");
+        }
+
+        Map<String, KeyEntry> keys = new HashMap<>();
+        stored.forEach((keyId, value) -> keys.put((String) keyId, parse((String) keyId, (String) value)));
+        List<KeyEntry> sorted = keys.values().stream().sorted(Comparator.comparingLong(KeyEntry::createdAt)).toList();
+
+        // 🔍 공개된 지 JWKS 캐시 시간이 지난 키 중 가장 최근 키로 서명 (없으면 가장 오래된 키)
+        long now = System.currentTimeMillis();
+        KeyEntry active = sorted.get(0);
+        for (KeyEntry entry : sorted) {
+            if (entry.createdAt() + publishDelayMillis <= now) {
+                active = entry;
+            }
+        }
+
+        Ring previous = ring;
+        Ring updated = new Ring(Map.copyOf(keys), sorted,
+                new SigningKey(active.keyId(), active.privateKey(), SignatureAlgorithm.ES256),
+                sorted.get(sorted.size() - 1).createdAt(),
+                previous != null && previous.keys().keySet().equals(keys.keySet()) ? previous.jwkSet() : toJwkSet(sorted));
+        ring = updated;
+        if (previous == null || !previous.active().keyId().equals(active.keyId())) {
+            logger.info("✅ JWT 서명 키 사용 - kid: {}", active.keyId());
+        }
+        return updated;
+    }
+
+    private KeyEntry parse(String keyId, String value) {
+        String[] parts = value.split(":");
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            PublicKey publicKey = keyFactory.generatePublic(new X509EncodedKeySpec(decode(parts[1])));
+            PrivateKey privateKey = keyFactory.generatePrivate(new PKCS8EncodedKeySpec(decrypt(keyId, decode(parts[2]))));
+            return new KeyEntry(keyId, Long.parseLong(parts[0]), publicKey, privateKey);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("JWT 서명 키를 읽을 수 없습니다 - kid: " + keyId, e);
+        }
+    }
+
+    /**
+     * ✅ 공개 키 목록 → JWKS 문서 (RFC 7517) + ETag
+     */
+    private JwkSet toJwkSet(List<KeyEntry> entries) {
+        List<Map<String, String>> jwks = entries.stream().map(entry -> {
+            ECPublicKey publicKey = (ECPublicKey) entry.publicKey();
+            Map<String, String> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("kid", entry.keyId());
+            jwk.put("use", "sig");
+            jwk.put("alg", SignatureAlgorithm.ES256.getValue());
+            jwk.put("x", coordinate(publicKey.getW().getAffineX()));
+            jwk.put("y", coordinate(publicKey.getW().getAffineY()));
+            return jwk;
+        }).toList();
+        try {
+            String json = objectMapper.writeValueAsString(Map.of("keys", jwks));
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(json.getBytes(StandardCharsets.UTF_8));
+            return new JwkSet(json, "\"" + encode(Arrays.copyOf(hash, 16)) + "\"");
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("JWKS 생성 실패", e);
+        }
+    }
+
+    private byte[] encrypt(String keyId, byte[] plaintext) {
+        try {
+            byte[] iv = new byte[GCM_IV_LENGTH];
+            random.nextBytes(iv);
+            Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+            cipher.init(Cipher.ENCRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, iv));
+            cipher.updateAAD(keyId.getBytes(StandardCharsets.UTF_8));
+            byte[] ciphertext = cipher.doFinal(plaintext);
+            return ByteBuffer.allocate(iv.length + ciphertext.length).put(iv).put(ciphertext).array();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("JWT 서명 키 암호화 실패", e);
+        }
+    }
+
+    private byte[] decrypt(String keyId, byte[] encrypted) throws GeneralSecurityException {
+        Cipher cipher = Cipher.getInstance("AES/GCM/NoPadding");
+        cipher.init(Cipher.DECRYPT_MODE, encryptionKey, new GCMParameterSpec(GCM_TAG_BITS, encrypted, 0, GCM_IV_LENGTH));
+        cipher.updateAAD(keyId.getBytes(StandardCharsets.UTF_8));
+        return cipher.doFinal(encrypted, GCM_IV_LENGTH, encrypted.length - GCM_IV_LENGTH);
+    }
+
+    private static KeyPair generateKeyPair() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec("secp256r1"));
+            return generator.generateKeyPair();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("EC 키 생성 실패", e);
+        }
+    }
+
+    private static byte[] hmac(byte[] keyBytes, byte[] message) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(keyBytes, "HmacSHA256"));
+            return mac.doFinal(message);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 초기화 실패", e);
+        }
+    }
+
+    /**
+     * ✅ EC 좌표 → 32바이트 고정 길이 Base64URL (BigInteger의 부호 바이트 제거 / 앞자리 0 채움)
+     */
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[32];
+        int length = Math.min(bytes.length, fixed.length);
+        System.arraycopy(bytes, bytes.length - length, fixed, fixed.length - length, length);
+        return encode(fixed);
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static byte[] decode(String value) {
+        return Base64.getUrlDecoder().decode(value);
+    }
+
+    private record KeyEntry(String keyId, long createdAt, PublicKey publicKey, PrivateKey privateKey) {
+    }
+
+    /**
+     * ✅ 불변 키 링 스냅샷 (다시 불러올 때 통째로 교체)
+     */
+    private record Ring(Map<String, KeyEntry> keys, List<KeyEntry> sortedByCreatedAt, SigningKey active,
+                        long newestCreatedAt, JwkSet jwkSet) {
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.myblog.config;
+
+import com.example.myblog.service.RefreshTokenStore;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * ✅ RefreshSessionRevocationCheck
+ *
+ * - 세션 저장소(`RefreshTokenStore`)에 토큰을 발급한 로그인 세션(sid)이 남아있는지만 확인
+ * - 로그아웃/강제 로그아웃으로 세션이 삭제되면 해당 기기의 Access Token도 거부됨
+ * - sid 클레임이 없는 토큰은 사용자의 세션이 하나라도 남아있는지 확인
+ * - MongoDB 사용자 조회 대신 존재 여부만 확인하는 가벼운 확인 (Redis 저장소는 EXISTS 한 번)
+ * - `jwt.revocation-check=refresh-session`일 때만 활성화
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.revocation-check", havingValue = "refresh-session")
+public class RefreshSessionRevocationCheck implements TokenRevocationCheck {
+
+    private final RefreshTokenStore refreshTokenStore;
+
+    public RefreshSessionRevocationCheck(RefreshTokenStore refreshTokenStore) {
+        this.refreshTokenStore = refreshTokenStore;
+    }
+
+    @Override
+    public boolean isRevoked(VerifiedClaims claims) {
+        return !refreshTokenStore.exists(claims.getSubject(), claims.getSessionId());
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.myblog.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+
+/**
+ * ✅ RefreshTokenDigester (Refresh Token 다이제스트 생성기)
+ *
+ * - Redis에는 Refresh Token 원문 대신 HMAC-SHA256 다이제스트만 저장
+ *   → Redis 덤프/백업이 유출되어도 토큰을 재사용할 수 없음
+ *   → 세션당 저장 크기: JWT 원문(수백 바이트) → 32바이트(binary) 또는 43바이트(base64)
+ * - 키가 있는 HMAC이므로 공격자는 원하는 다이제스트를 만들어낼 수 없음 (비교 시간으로 알아낼 정보가 없음)
+ * - 다이제스트 키를 따로 지정하지 않으면 `JWT_SECRET_KEY`에서 용도별 키를 파생하여 사용
+ * - `Mac`은 스레드 안전하지 않으므로 스레드별로 하나씩 재사용
+ */
+@Component
+public class RefreshTokenDigester {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final byte[] KEY_DERIVATION_LABEL = "refresh-token-digest".getBytes(StandardCharsets.UTF_8);
+
+    private final SecretKeySpec key;
+    private final boolean binary;
+    private final ThreadLocal<Mac> mac;
+
+    /**
+     * ✅ RefreshTokenDigester 생성자
+     *
+     * @param digestKey Base64 인코딩된 다이제스트 키 (비어 있으면 `JWT_SECRET_KEY`에서 파생)
+     * @param encoding 저장 형식 - binary: 32바이트 원본 / base64: URL-safe Base64 문자열 (redis-cli로 확인하기 쉬움)
+     */
+    public RefreshTokenDigester(@Value("${auth.refresh-token.digest-key:}") String digestKey,
+                                @Value("${auth.refresh-token.digest-encoding:binary}") String encoding) {
+        byte[] keyBytes = digestKey.isBlank()
+                ? hmac(Base64.getDecoder().decode(EnvConfig.get("JWT_SECRET_KEY")), KEY_DERIVATION_LABEL)
+                : Base64.getDecoder().decode(digestKey);
+        this.key = new SecretKeySpec(keyBytes, ALGORITHM);
+        this.binary = !"base64".equalsIgnoreCase(encoding.trim());
+        this.mac = ThreadLocal.withInitial(() -> newMac(key));
+    }
+
+    /**
+     * ✅ Refresh Token → 저장용 다이제스트 (설정한 인코딩 적용)
+     */
+    public byte[] digest(String refreshToken) {
+        byte[] digest = mac.get().doFinal(refreshToken.getBytes(StandardCharsets.US_ASCII));
+        return binary ? digest : Base64.getUrlEncoder().withoutPadding().encode(digest);
+    }
+
+    /**
+     * ✅ 저장된 다이제스트와 Refresh Token 비교 (상수 시간)
+     */
+    public boolean matches(String refreshToken, byte[] storedDigest) {
+        return storedDigest != null && MessageDigest.isEqual(digest(refreshToken), storedDigest);
+    }
+
+    private static byte[] hmac(byte[] keyBytes, byte[] message) {
+        return newMac(new SecretKeySpec(keyBytes, ALGORITHM)).doFinal(message);
+    }
+
+    private static Mac newMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 초기화 실패", e);
+        }
+    }
+}
@@ -1,8 +1,13 @@
 package com.example.myblog.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import io.swagger.v3.oas.annotations.enums.SecuritySchemeType;
 import io.swagger.v3.oas.annotations.security.SecurityScheme;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -11,8 +16,8 @@ import org.springframework.security.authentication.dao.DaoAuthenticationProvider
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.client.oidc.userinfo.OidcUserService;
 import org.springframework.security.oauth2.client.userinfo.DefaultOAuth2UserService;
@@ -22,6 +27,7 @@ import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.authentication.Http403ForbiddenEntryPoint;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
@@ -40,31 +46,72 @@ import java.util.List;
         bearerFormat = "JWT"
 )
 public class SecurityConfig {
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
+
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final List<TokenRevocationCheck> revocationChecks;
+    private final boolean statelessAuthentication;
+    private final MeterRegistry meterRegistry;
+    private final double successLogSampleRate;
+    private final int verifyCacheSize;
+    private final Duration verifyCacheNegativeTtl;
+    private final int managementPort;
 
     /**
      * ✅ SecurityConfig 생성자
      *
      * @param jwtUtil          JWT 관련 유틸리티 클래스
      * @param userDetailsService 사용자 정보를 로드하는 서비스
+     * @param revocationChecks 토큰 폐기 여부 확인 빈 목록 (없으면 빈 리스트)
+     * @param statelessAuthentication true면 JwtFilter가 요청마다 사용자 DB 조회를 하지 않음
+     * @param meterRegistry JwtFilter 메트릭 레지스트리
+     * @param successLogSampleRate JwtFilter 인증 성공 INFO 로그 샘플링 비율
+     * @param verifyCacheSize JwtFilter 검증 결과 메모 슬롯 수 (0이면 사용하지 않음)
+     * @param verifyCacheNegativeTtl 검증 실패 결과를 기억하는 시간
+     * @param managementPort Actuator 전용 포트 (-1이면 애플리케이션 포트와 같음)
      */
-    public SecurityConfig(JwtUtil jwtUtil, UserDetailsService userDetailsService) {
+    public SecurityConfig(JwtUtil jwtUtil, UserDetailsService userDetailsService,
+                          List<TokenRevocationCheck> revocationChecks,
+                          @Value("${jwt.stateless-authentication:false}") boolean statelessAuthentication,
+                          MeterRegistry meterRegistry,
+                          @Value("${auth.logging.success-sample-rate:0.001}") double successLogSampleRate,
+                          @Value("${jwt.verify-cache.size:0}") int verifyCacheSize,
+                          @Value("${jwt.verify-cache.negative-ttl:30s}") Duration verifyCacheNegativeTtl,
+                          @Value("${management.server.port:-1}") int managementPort) {
         this.jwtUtil = jwtUtil;
         this.userDetailsService = userDetailsService;
+        this.revocationChecks = revocationChecks;
+        this.statelessAuthentication = statelessAuthentication;
+        this.meterRegistry = meterRegistry;
+        this.successLogSampleRate = successLogSampleRate;
+        this.verifyCacheSize = verifyCacheSize;
+        this.verifyCacheNegativeTtl = verifyCacheNegativeTtl;
+        this.managementPort = managementPort;
     }
 
     /**
      * ✅ 비밀번호 암호화 설정
      *
-     * - BCryptPasswordEncoder를 사용하여 비밀번호를 해싱
-     * - 강도(strength) 값은 10으로 설정
+     * - BCrypt를 사용하여 비밀번호를 해싱
+     * - 강도(strength)는 시작 시 벤치마크로 결정 (목표 해싱 시간 안에 끝나는 가장 높은 값, 최소 10)
+     * - `auth.password.strength`를 지정하면 벤치마크 없이 해당 강도 사용
      *
+     * @param strength 고정 강도 (0이면 벤치마크로 결정)
+     * @param targetHashTime 해싱 1회 목표 시간
+     * @param minStrength 최소 강도
+     * @param maxStrength 최대 강도
      * @return PasswordEncoder 객체
      */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(10);
+    public PasswordEncoder passwordEncoder(@Value("${auth.password.strength:0}") int strength,
+                                           @Value("${auth.password.target-hash-time:100ms}") Duration targetHashTime,
+                                           @Value("${auth.password.min-strength:10}") int minStrength,
+                                           @Value("${auth.password.max-strength:16}") int maxStrength) {
+        if (strength > 0) {
+            return new CalibratedPasswordEncoder(strength);
+        }
+        return CalibratedPasswordEncoder.calibrate(targetHashTime, minStrength, maxStrength);
     }
 
     /**
@@ -72,14 +119,19 @@ public class SecurityConfig {
      *
      * - DaoAuthenticationProvider를 사용하여 인증 처리
      * - UserDetailsService와 PasswordEncoder를 설정
+     * - 인증 성공 시 해시 강도가 낮으면 UserDetailsPasswordService로 재해싱한 비밀번호 저장
      *
+     * @param passwordEncoder 비밀번호 인코더
      * @return AuthenticationManager 객체
      */
     @Bean
-    public AuthenticationManager authenticationManager() {
+    public AuthenticationManager authenticationManager(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userDetailsService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        if (userDetailsService instanceof UserDetailsPasswordService passwordService) {
+            authProvider.setUserDetailsPasswordService(passwordService);
+        }
         return new ProviderManager(List.of(authProvider));
     }
 
@@ -88,6 +140,8 @@ public class SecurityConfig {
      *
      * - JWT 기반 인증을 사용하며, OAuth2 로그인도 지원
      * - 특정 경로에 대한 접근 제어 설정 포함
+     *   - `/api/auth/introspect`는 `/api/auth/**` 공개 규칙보다 먼저 검사하여 인증된 호출자만 허용
+     *   - `/actuator/prometheus`는 `management.server.port`(내부망 전용 포트)로 들어온 요청만 인증 없이 허용
      * - JWT 필터를 UsernamePasswordAuthenticationFilter 전에 실행
      *
      * @param http HttpSecurity 객체
@@ -95,7 +149,11 @@ public class SecurityConfig {
      */
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
-        JwtFilter jwtFilter = new JwtFilter(jwtUtil, userDetailsService);
+        VerifiedTokenCache verifiedTokenCache = verifyCacheSize > 0
+                ? new VerifiedTokenCache(verifyCacheSize, verifyCacheNegativeTtl)
+                : null;
+        JwtFilter jwtFilter = new JwtFilter(jwtUtil, userDetailsService, statelessAuthentication, revocationChecks,
+                verifiedTokenCache, meterRegistry, successLogSampleRate);
 
         http
                 // ✅ CSRF 비활성화 (JWT 사용 시 필요 없음)
@@ -103,8 +161,13 @@ public class SecurityConfig {
 
                 // ✅ 요청별 권한 설정
                 .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/api/auth/introspect").authenticated() // ✅ 토큰 검사는 호출 서비스 인증 필요 (RFC 7662 §2.1)
                         .requestMatchers("/", "/api/auth/**", "/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html").permitAll()
                         .requestMatchers("/api/auth/oauth-success").permitAll() // ✅ 403 문제 해결
+                        .requestMatchers("/actuator/health/**").permitAll() // ✅ 헬스 체크
+                        .requestMatchers(this::isManagementPort).permitAll() // ✅ 내부망 전용 Actuator 포트의 메트릭 수집
+                        .requestMatchers("/actuator/**").hasRole("ADMIN") // ✅ 애플리케이션 포트의 메트릭은 ADMIN만
+                        .requestMatchers("/.well-known/jwks.json").permitAll() // ✅ 토큰 검증용 공개 키
                         .requestMatchers("/api/admin/**").hasRole("ADMIN") // ✅ ADMIN만 접근 가능
                         .anyRequest().authenticated() // ✅ 나머지는 인증 필요
                 )
@@ -136,6 +199,16 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * ✅ Actuator 전용 포트로 들어온 요청인지 확인
+     *
+     * - 별도 관리 포트를 쓰면 Spring Boot가 같은 보안 필터 체인을 관리 서버에도 적용하므로 포트로 구분
+     * - 관리 포트를 지정하지 않았으면 항상 false (메트릭도 애플리케이션 포트의 권한 규칙을 따름)
+     */
+    private boolean isManagementPort(HttpServletRequest request) {
+        return managementPort > 0 && request.getLocalPort() == managementPort;
+    }
+
     /**
      * ✅ 403 (Forbidden) 예외 발생 시 핸들러
      *
@@ -146,7 +219,7 @@ public class SecurityConfig {
     @Bean
     public AccessDeniedHandler customAccessDeniedHandler() {
         return (request, response, accessDeniedException) -> {
-            System.out.println("❌ [403 ERROR] 접근이 거부되었습니다: " + request.getRequestURI());
+            logger.warn("❌ [403 ERROR] 접근이 거부되었습니다: {}", request.getRequestURI());
             response.sendError(HttpServletResponse.SC_FORBIDDEN, "Forbidden");
         };
     }
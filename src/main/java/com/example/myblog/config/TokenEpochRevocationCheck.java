@@ -0,0 +1,31 @@
+package com.example.myblog.config;
+
+import com.example.myblog.service.TokenEpochService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * ✅ TokenEpochRevocationCheck
+ *
+ * - Access Token의 `ver` 클레임이 사용자의 현재 세대 번호보다 낮으면 폐기된 토큰으로 판단
+ * - "모든 기기에서 로그아웃" 이전에 발급된 토큰을 토큰별 기록 없이 한 번에 거부
+ * - `ver` 클레임이 없는 토큰(도입 전 발급)은 0으로 간주
+ * - 세대 번호는 `TokenEpochService`의 로컬 캐시에서 조회 (요청 경로에서 Redis 왕복 없음)
+ * - Redis 장애로 세대 번호를 알 수 없으면 기본적으로 거부 (`jwt.token-epoch.fail-open`)
+ * - 기본 활성화, `jwt.token-epoch.enabled=false`로 끌 수 있음
+ */
+@Component
+@ConditionalOnProperty(name = "jwt.token-epoch.enabled", havingValue = "true", matchIfMissing = true)
+public class TokenEpochRevocationCheck implements TokenRevocationCheck {
+
+    private final TokenEpochService tokenEpochService;
+
+    public TokenEpochRevocationCheck(TokenEpochService tokenEpochService) {
+        this.tokenEpochService = tokenEpochService;
+    }
+
+    @Override
+    public boolean isRevoked(VerifiedClaims claims) {
+        return tokenEpochService.isRevoked(claims.getSubject(), claims.getTokenVersion());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.myblog.config;
+
+/**
+ * ✅ TokenRevocationCheck (토큰 폐기 여부 확인)
+ *
+ * - `JwtFilter`가 서명 검증을 마친 토큰에 대해 추가로 호출하는 확인 단계
+ * - 전체 사용자 정보를 DB에서 불러오는 대신, 가벼운 폐기 여부만 확인하는 용도
+ * - 구현체가 빈으로 등록되어 있지 않으면 폐기 확인을 수행하지 않음
+ */
+@FunctionalInterface
+public interface TokenRevocationCheck {
+
+    /**
+     * ✅ 토큰이 폐기되었는지 확인
+     *
+     * @param claims 서명 검증이 끝난 토큰 클레임
+     * @return 폐기된 토큰이면 true
+     */
+    boolean isRevoked(VerifiedClaims claims);
+}
@@ -0,0 +1,42 @@
+package com.example.myblog.config;
+
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Set;
+
+/**
+ * ✅ VerifiedClaims (검증 완료된 JWT 클레임)
+ *
+ * - `JwtUtil.verify()`가 서명 및 만료 검증을 마친 뒤 반환하는 불변 객체
+ * - 한 번의 파싱 결과(subject, roles, iat, exp, jti, fid, sid, ver)를 담아 여러 곳에서 재사용
+ * - 같은 토큰을 다시 파싱하거나 HMAC 서명을 중복 검증할 필요가 없음
+ */
+@Getter  // ✅ Lombok - getter 자동 생성
+public final class VerifiedClaims {
+
+    private final String subject;       // 사용자 식별 값 (username 또는 email)
+    private final Set<String> roles;    // 사용자 역할 (Refresh Token은 빈 Set)
+    private final Instant issuedAt;     // 발급 시간 (iat)
+    private final Instant expiresAt;    // 만료 시간 (exp)
+    private final String tokenId;       // 토큰 ID (jti, 없으면 null)
+    private final String familyId;      // Refresh Token 패밀리 ID (fid, Access Token은 null)
+    private final String sessionId;     // 로그인 세션 ID (sid, Access Token에만 포함 = 패밀리 ID)
+    private final long tokenVersion;    // 사용자 토큰 세대 번호 (ver, 없으면 0)
+
+    public VerifiedClaims(String subject, Set<String> roles, Instant issuedAt, Instant expiresAt) {
+        this(subject, roles, issuedAt, expiresAt, null, null, null, 0);
+    }
+
+    public VerifiedClaims(String subject, Set<String> roles, Instant issuedAt, Instant expiresAt,
+                          String tokenId, String familyId, String sessionId, long tokenVersion) {
+        this.subject = subject;
+        this.roles = Set.copyOf(roles); // 🔥 외부에서 수정할 수 없도록 복사
+        this.issuedAt = issuedAt;
+        this.expiresAt = expiresAt;
+        this.tokenId = tokenId;
+        this.familyId = familyId;
+        this.sessionId = sessionId;
+        this.tokenVersion = tokenVersion;
+    }
+}
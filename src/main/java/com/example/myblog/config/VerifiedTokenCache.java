@@ -0,0 +1,113 @@
+package com.example.myblog.config;
+
+import java.time.Duration;
+
+/**
+ * ✅ VerifiedTokenCache (검증된 토큰 메모)
+ *
+ * - 같은 Access Token이 유효 기간 동안 수백 번 들어오므로(SPA 폴링, 모바일 재시도) 서명 검증 결과를 기억해 두고 재사용
+ * - 고정 크기 direct-mapped 배열 (토큰 hashCode → 슬롯 하나, 충돌 시 덮어씀)
+ *   - 조회 경로는 객체를 만들지 않음 (hashCode 계산 + 배열 읽기 + 문자열 비교)
+ *   - 슬롯 항목은 불변 객체라 잠금 없이 읽고 써도 안전 (final 필드)
+ * - 항목에는 토큰 원문을 함께 저장하고 전체 문자열로 비교
+ *   - 짧은 해시만 비교하면 의도적인 충돌로 다른 사용자의 클레임을 얻을 수 있고,
+ *     암호학적 해시는 조회마다 할당과 계산 비용이 생기므로 사용하지 않음
+ * - 만료
+ *   - 검증 성공: 토큰의 exp까지만 유효 (만료된 토큰이 통과되지 않음)
+ *   - 검증 실패(형식 오류, 서명 오류 등): `negativeTtl` 동안 실패 결과를 기억 → 같은 잘못된 토큰 반복 공격 시 파싱 생략
+ *   - 검증 키를 찾지 못한 실패(모르는 kid)는 기억하지 않음 (다른 서버가 방금 활성화한 키일 수 있음, 호출하는 쪽에서 제외)
+ *   - 만료(exp 초과) 실패는 기억하지 않음 (응답 코드가 다르고 어차피 파싱 초기에 실패)
+ * - 폐기 확인(`TokenRevocationCheck`)은 캐시와 관계없이 요청마다 수행
+ */
+public final class VerifiedTokenCache {
+
+    private final Entry[] slots;
+    private final int mask;
+    private final long negativeTtlMillis;
+
+    /**
+     * ✅ VerifiedTokenCache 생성자
+     *
+     * @param size 슬롯 수 (2의 거듭제곱으로 올림)
+     * @param negativeTtl 검증 실패 결과를 기억하는 시간
+     */
+    public VerifiedTokenCache(int size, Duration negativeTtl) {
+        int capacity = Integer.highestOneBit(Math.max(2, size - 1)) << 1;
+        this.slots = new Entry[capacity];
+        this.mask = capacity - 1;
+        this.negativeTtlMillis = negativeTtl.toMillis();
+    }
+
+    /**
+     * ✅ 캐시 조회 (할당 없음)
+     *
+     * @param token JWT 문자열
+     * @param now 현재 시각 (ms)
+     * @return 유효한 항목 (없거나 만료되었으면 null)
+     */
+    public Entry lookup(String token, long now) {
+        int hash = token.hashCode();
+        Entry entry = slots[index(hash)];
+        if (entry == null || entry.hash != hash || entry.expiresAtMillis <= now || !entry.token.equals(token)) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * ✅ 검증 성공 결과 저장 (토큰의 exp까지)
+     */
+    public void putVerified(String token, VerifiedClaims claims) {
+        if (claims.getExpiresAt() != null) {
+            store(new Entry(token, token.hashCode(), claims, null, claims.getExpiresAt().toEpochMilli()));
+        }
+    }
+
+    /**
+     * ✅ 검증 실패 결과 저장 (`negativeTtl` 동안)
+     *
+     * @param failureReason 실패 사유 (메트릭 태그, 캐시 적중 시에도 같은 사유로 기록)
+     */
+    public void putRejected(String token, String failureReason, long now) {
+        if (negativeTtlMillis > 0) {
+            store(new Entry(token, token.hashCode(), null, failureReason, now + negativeTtlMillis));
+        }
+    }
+
+    private void store(Entry entry) {
+        slots[index(entry.hash)] = entry;
+    }
+
+    private int index(int hash) {
+        return (hash ^ (hash >>> 16)) & mask; // 🔍 상위 비트도 슬롯 선택에 반영
+    }
+
+    /**
+     * ✅ 캐시 항목 (불변)
+     *
+     * - claims가 null이면 검증 실패 항목 (failureReason에 사유)
+     */
+    public static final class Entry {
+        private final String token;
+        private final int hash;
+        private final VerifiedClaims claims;
+        private final String failureReason;
+        private final long expiresAtMillis;
+
+        private Entry(String token, int hash, VerifiedClaims claims, String failureReason, long expiresAtMillis) {
+            this.token = token;
+            this.hash = hash;
+            this.claims = claims;
+            this.failureReason = failureReason;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+
+        public VerifiedClaims getClaims() {
+            return claims;
+        }
+
+        public String getFailureReason() {
+            return failureReason;
+        }
+    }
+}
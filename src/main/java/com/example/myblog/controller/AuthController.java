@@ -1,19 +1,29 @@
 package com.example.myblog.controller;
 
 import com.example.myblog.config.JwtUtil;
+import com.example.myblog.config.VerifiedClaims;
+import com.example.myblog.dto.IntrospectionRequest;
+import com.example.myblog.dto.IntrospectionResponse;
 import com.example.myblog.dto.LoginRequest;
+import com.example.myblog.dto.SessionInfo;
 import com.example.myblog.dto.SignupRequest;
 import com.example.myblog.dto.TokenResponse;
-import com.example.myblog.entity.User;
+import com.example.myblog.dto.UserDTO;
 import com.example.myblog.repository.UserRepository;
 import com.example.myblog.service.AuthService;
 import com.example.myblog.service.OAuth2UserService;
+import com.example.myblog.service.TokenIntrospectionService;
+import io.jsonwebtoken.JwtException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -24,6 +34,7 @@ public class AuthController {
     private final JwtUtil jwtUtil;
     private final OAuth2UserService oAuth2UserService;
     private final UserRepository userRepository;
+    private final TokenIntrospectionService tokenIntrospectionService;
 
     /**
      * ✅ AuthController 생성자
@@ -31,75 +42,88 @@ public class AuthController {
      * @param authService       일반 로그인 & 회원가입 서비스
      * @param jwtUtil           JWT 토큰 관련 유틸리티
      * @param oAuth2UserService OAuth2 사용자 서비스 (구글 로그인 등)
-     * @param userRepository    사용자 조회를 위한 JPA 레포지토리
+     * @param userRepository    사용자 프로필 조회를 위한 MongoDB 레포지토리
+     * @param tokenIntrospectionService 다른 서비스용 토큰 검사 서비스
      */
-    public AuthController(AuthService authService, JwtUtil jwtUtil, OAuth2UserService oAuth2UserService, UserRepository userRepository) {
+    public AuthController(AuthService authService, JwtUtil jwtUtil, OAuth2UserService oAuth2UserService, UserRepository userRepository,
+                          TokenIntrospectionService tokenIntrospectionService) {
         this.authService = authService;
         this.jwtUtil = jwtUtil;
         this.oAuth2UserService = oAuth2UserService;
         this.userRepository = userRepository;
+        this.tokenIntrospectionService = tokenIntrospectionService;
     }
 
     /**
      * ✅ 회원가입 엔드포인트
      *
+     * - 비밀번호 해싱이 끝날 때까지 요청 스레드를 점유하지 않도록 비동기로 응답
+     *
      * @param signupRequest 회원가입 요청 정보 (JSON Body)
      * @return 성공 메시지 응답
      */
     @PostMapping("/signup")
-    public ResponseEntity<String> signup(@RequestBody SignupRequest signupRequest) {
-        return ResponseEntity.ok(authService.signup(signupRequest));
+    public CompletableFuture<ResponseEntity<String>> signup(@RequestBody SignupRequest signupRequest) {
+        return authService.signup(signupRequest).thenApply(ResponseEntity::ok);
     }
 
     /**
      * ✅ 일반 로그인 엔드포인트 (JWT 발급)
      *
+     * - 비밀번호 검증이 끝날 때까지 요청 스레드를 점유하지 않도록 비동기로 응답
+     * - 해싱 풀이 포화 상태이면 503 + Retry-After 반환
+     *
+     * - 로그인마다 기기별 세션이 새로 생성되며, 다른 기기의 세션은 유지됨
+     *
      * @param request 로그인 요청 정보 (JSON Body)
+     * @param userAgent 로그인한 기기 정보 (세션 목록 표시용)
      * @return JWT Access & Refresh Token
      */
     @PostMapping("/login")
-    public ResponseEntity<TokenResponse> login(@RequestBody LoginRequest request) {
-        TokenResponse tokenResponse = authService.login(request);
-        return ResponseEntity.ok(tokenResponse);
+    public CompletableFuture<ResponseEntity<TokenResponse>> login(@RequestBody LoginRequest request,
+                                                                  @RequestHeader(value = "User-Agent", required = false) String userAgent) {
+        return authService.login(request, userAgent).thenApply(ResponseEntity::ok);
     }
 
     /**
      * ✅ JWT 리프레시 토큰을 사용하여 새로운 Access Token 발급
      *
+     * - Refresh Token도 함께 회전되므로, 클라이언트는 응답의 새 Refresh Token으로 교체해야 함
+     * - 이미 사용한 Refresh Token을 다시 보내면 해당 로그인 세션 전체가 폐기됨 (401)
+     * - 단, 직전 Refresh Token을 유예 시간(`auth.refresh-token.reuse-grace`) 안에 다시 보내면 재시도로 보고 새 토큰 발급
+     *
      * @param request JSON Body - { "refreshToken": "..." }
-     * @return 새로운 Access Token
+     * @return 새로운 Access Token & Refresh Token
      */
     @PostMapping("/refresh")
-    public ResponseEntity<Map<String, String>> refresh(@RequestBody Map<String, String> request) {
-        String newAccessToken = authService.refreshToken(request.get("refreshToken"));
-        return ResponseEntity.ok(Map.of("accessToken", newAccessToken));
+    public ResponseEntity<TokenResponse> refresh(@RequestBody Map<String, String> request) {
+        return ResponseEntity.ok(authService.refreshToken(request.get("refreshToken")));
     }
 
     /**
      * ✅ 로그아웃 처리 (JWT 기반)
      *
-     * - Redis에서 Refresh Token을 삭제하여 로그아웃 처리
+     * - 세션 저장소에서 현재 기기의 세션(Refresh Token)만 삭제하여 로그아웃 처리 (다른 기기는 유지)
+     * - Access Token만 허용 (Refresh Token으로 요청하면 401)
      *
      * @param token HTTP 헤더에서 받은 Authorization 토큰
      * @return 로그아웃 성공 여부 메시지
      */
     @PostMapping("/logout")
     public ResponseEntity<String> logout(@RequestHeader("Authorization") String token) {
+        // 🔥 Access Token 검증 (서명/만료 확인, Refresh Token 거부)
+        VerifiedClaims claims;
         try {
-            // 🔥 "Bearer " 제거 후 JWT 토큰 추출
-            token = token.replace("Bearer ", "").trim();
-
-            // 🔥 JWT 유효성 검증
-            if (!jwtUtil.validateToken(token)) {
-                return ResponseEntity.status(401).body("❌ 로그아웃 실패 - 유효하지 않은 토큰입니다.");
-            }
-
-            String identifier = jwtUtil.extractUsername(token);
+            claims = authService.verifyAccessToken(token);
+        } catch (ResponseStatusException e) {
+            return ResponseEntity.status(401).body("❌ 로그아웃 실패 - 유효하지 않은 토큰입니다.");
+        }
 
-            // 🔥 로그아웃 처리 (Redis에서 Refresh Token 삭제)
-            authService.logout(identifier);
+        try {
+            // 🔥 로그아웃 처리 (세션 저장소에서 현재 세션 삭제 + 현재 Access Token 폐기)
+            authService.logout(claims);
 
-            logger.info("✅ 로그아웃 성공 - identifier: {}", identifier);
+            logger.info("✅ 로그아웃 성공 - identifier: {}", claims.getSubject());
             return ResponseEntity.ok("로그아웃 성공!");
         } catch (Exception e) {
             logger.error("❌ 로그아웃 실패: {}", e.getMessage());
@@ -107,41 +131,110 @@ public class AuthController {
         }
     }
 
+    /**
+     * ✅ 로그인 세션(기기) 목록 조회
+     *
+     * @param token HTTP Authorization 헤더 (Bearer {JWT Access Token})
+     * @return 세션 목록 (현재 요청을 보낸 세션은 current = true)
+     */
+    @GetMapping("/sessions")
+    public ResponseEntity<List<SessionInfo>> sessions(@RequestHeader("Authorization") String token) {
+        VerifiedClaims claims = authService.verifyAccessToken(token);
+        return ResponseEntity.ok(authService.listSessions(claims.getSubject(), claims.getSessionId()));
+    }
+
+    /**
+     * ✅ 특정 로그인 세션(기기) 강제 로그아웃
+     *
+     * @param token HTTP Authorization 헤더 (Bearer {JWT Access Token})
+     * @param sessionId 로그아웃할 세션 ID
+     * @return 204 (삭제됨) 또는 404 (세션 없음)
+     */
+    @DeleteMapping("/sessions/{sessionId}")
+    public ResponseEntity<Void> revokeSession(@RequestHeader("Authorization") String token, @PathVariable String sessionId) {
+        VerifiedClaims claims = authService.verifyAccessToken(token);
+        return authService.revokeSession(claims.getSubject(), sessionId)
+                ? ResponseEntity.noContent().build()
+                : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * ✅ 모든 로그인 세션(기기) 로그아웃
+     *
+     * @param token HTTP Authorization 헤더 (Bearer {JWT Access Token})
+     * @return 삭제된 세션 수
+     */
+    @DeleteMapping("/sessions")
+    public ResponseEntity<Map<String, Long>> revokeAllSessions(@RequestHeader("Authorization") String token) {
+        VerifiedClaims claims = authService.verifyAccessToken(token);
+        return ResponseEntity.ok(Map.of("revoked", authService.revokeAllSessions(claims.getSubject())));
+    }
+
+    /**
+     * ✅ 토큰 검사 (RFC 7662, 다른 서비스용)
+     *
+     * - 단건: `{"token": "..."}` → `{"active": true, "sub": ..., ...}` 또는 `{"active": false}`
+     * - 일괄: `{"tokens": [...]}` → `{"results": [...]}` (요청 순서 유지)
+     * - 서명 검증 + 폐기 여부만 확인하며 MongoDB를 조회하지 않음
+     * - 호출하는 서비스는 자신의 Access Token으로 인증해야 함 (SecurityConfig, 익명 호출은 403)
+     *
+     * @param request 검사할 토큰 (단건 또는 목록)
+     * @return 검사 결과
+     */
+    @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<?> introspect(@RequestBody IntrospectionRequest request) {
+        if (request.getTokens() != null) {
+            return ResponseEntity.ok(Map.of("results", tokenIntrospectionService.introspectAll(request.getTokens())));
+        }
+        return ResponseEntity.ok(tokenIntrospectionService.introspect(request.getToken()));
+    }
+
+    /**
+     * ✅ 토큰 검사 (RFC 7662 표준 형식 - `application/x-www-form-urlencoded`의 token 파라미터)
+     */
+    @PostMapping(value = "/introspect", consumes = MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+    public ResponseEntity<IntrospectionResponse> introspectForm(@RequestParam("token") String token) {
+        return ResponseEntity.ok(tokenIntrospectionService.introspect(token));
+    }
+
     /**
      * ✅ Google OAuth 로그인 성공 후 JWT 발급
      *
      * - 클라이언트에서 Google Access Token을 받아 서버에 전달하면, 자체 JWT를 발급하여 반환함
+     * - Google API 응답을 기다리는 동안 요청 스레드를 점유하지 않도록 비동기로 응답
+     * - Google 장애 시 503(차단/포화), 504(타임아웃), 502(그 외 오류) 반환
      *
      * @param authorizationHeader HTTP Authorization 헤더 (Bearer {Google Access Token})
+     * @param userAgent 로그인한 기기 정보 (세션 목록 표시용)
      * @return JWT Access & Refresh Token
      */
     @GetMapping("/oauth-success")
-    public ResponseEntity<?> oauthSuccess(@RequestHeader("Authorization") String authorizationHeader) {
-        System.out.println("✅ [LOG] Authorization Header: " + authorizationHeader);
-
-        try {
-            // 🔥 "Bearer " 제거 후 Google Access Token 추출
-            String googleAccessToken = authorizationHeader.replace("Bearer ", "").trim();
-            System.out.println("✅ [LOG] Extracted Google Access Token: " + googleAccessToken);
-
-            // 🔥 Google Access Token이 올바른지 확인
-            if (googleAccessToken.isEmpty() || !googleAccessToken.startsWith("ya")) {
-                return ResponseEntity.status(400).body("Invalid Google Access Token format");
-            }
-
-            // 🔥 Google API를 사용하여 사용자 정보 가져오기 + JWT 발급
-            TokenResponse tokenResponse = oAuth2UserService.loadUserFromGoogle(googleAccessToken);
+    public CompletableFuture<ResponseEntity<?>> oauthSuccess(@RequestHeader("Authorization") String authorizationHeader,
+                                                             @RequestHeader(value = "User-Agent", required = false) String userAgent) {
+        // 🔥 "Bearer " 제거 후 Google Access Token 추출
+        String googleAccessToken = authorizationHeader.replace("Bearer ", "").trim();
+        logger.debug("🔍 Google Access Token 수신 (길이: {})", googleAccessToken.length()); // 🔒 토큰 값은 로그에 남기지 않음
 
-            System.out.println("✅ [LOG] JWT 발급 완료: " + tokenResponse.getAccessToken());
-
-            // ✅ 응답 반환 (JWT 정보 포함)
-            return ResponseEntity.ok(tokenResponse);
-
-        } catch (Exception e) {
-            e.printStackTrace(); // ✅ 에러 상세 로그 추가
-            System.out.println("❌ [ERROR] " + e.getMessage());
-            return ResponseEntity.status(401).body("Invalid Google Access Token: " + e.getMessage());
+        // 🔥 Google Access Token이 올바른지 확인
+        if (googleAccessToken.isEmpty() || !googleAccessToken.startsWith("ya")) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(400).body("Invalid Google Access Token format"));
         }
+
+        // 🔥 Google API를 사용하여 사용자 정보 가져오기 + JWT 발급
+        return oAuth2UserService.loadUserFromGoogle(googleAccessToken, userAgent)
+                .<ResponseEntity<?>>thenApply(tokenResponse -> {
+                    logger.debug("✅ Google 로그인 JWT 발급 완료");
+                    return ResponseEntity.ok(tokenResponse); // ✅ 응답 반환 (JWT 정보 포함)
+                })
+                .exceptionally(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof ResponseStatusException statusException) {
+                        logger.warn("❌ Google 로그인 실패 - {}", statusException.getReason());
+                        return ResponseEntity.status(statusException.getStatusCode()).body(statusException.getReason());
+                    }
+                    logger.warn("❌ Google 로그인 실패", cause); // ✅ 에러 상세 로그 (스택 트레이스 포함)
+                    return ResponseEntity.status(401).body("Invalid Google Access Token: " + cause.getMessage());
+                });
     }
 
     /**
@@ -155,19 +248,19 @@ public class AuthController {
         try {
             token = token.replace("Bearer ", "").trim();
 
-            // 🔥 JWT 유효성 검증
-            if (!jwtUtil.validateToken(token)) {
+            // 🔥 JWT 유효성 검증 (검증과 파싱을 한 번에 수행)
+            VerifiedClaims claims;
+            try {
+                claims = jwtUtil.verify(token);
+            } catch (JwtException e) {
                 return ResponseEntity.status(401).body("❌ 유효하지 않은 토큰입니다.");
             }
 
-            String identifier = jwtUtil.extractUsername(token);
-            Set<String> roles = jwtUtil.extractRoles(token);
+            String identifier = claims.getSubject();
 
-            // ✅ 일반 로그인은 username으로 찾고, 소셜 로그인은 email로 찾음
-            Optional<User> user = userRepository.findByUsername(identifier);
-            if (user.isEmpty()) {
-                user = userRepository.findByEmail(identifier);  // 🔥 email로도 재확인
-            }
+            // ✅ 일반 로그인(username)과 소셜 로그인(email)을 한 번의 조회로 찾음
+            // 🔥 프로필 필드(username, email, roles)만 조회하므로 비밀번호 해시는 응답에 포함되지 않음
+            Optional<UserDTO> user = userRepository.findProfileByIdentifier(identifier);
 
             if (user.isEmpty()) {
                 return ResponseEntity.status(404).body("사용자를 찾을 수 없습니다.");
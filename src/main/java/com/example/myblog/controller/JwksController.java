@@ -0,0 +1,47 @@
+package com.example.myblog.controller;
+
+import com.example.myblog.config.JwtSigningKeys;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * ✅ JWKS 컨트롤러
+ *
+ * - 토큰 검증용 공개 키 목록(`/.well-known/jwks.json`)을 제공 → 다른 서비스가 이 서버에 묻지 않고 직접 토큰 검증
+ * - 응답은 키 목록이 바뀔 때만 새로 만들어지고, ETag + Cache-Control로 클라이언트/프록시 캐시 허용
+ * - HS256(비밀 키) 모드에서는 공개할 키가 없으므로 빈 목록
+ */
+@RestController
+public class JwksController {
+
+    private final JwtSigningKeys signingKeys;
+    private final CacheControl cacheControl;
+
+    public JwksController(JwtSigningKeys signingKeys, @Value("${jwt.jwks.max-age:10m}") Duration maxAge) {
+        this.signingKeys = signingKeys;
+        this.cacheControl = CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    /**
+     * ✅ 공개 키 목록 조회
+     *
+     * @param ifNoneMatch 클라이언트가 가진 ETag (같으면 304, 본문 없음)
+     * @return JWKS 문서 (RFC 7517)
+     */
+    @GetMapping(value = "/.well-known/jwks.json", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<String> jwks(@RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) {
+        JwtSigningKeys.JwkSet jwkSet = signingKeys.jwkSet();
+        if (jwkSet.etag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(jwkSet.etag()).cacheControl(cacheControl).build();
+        }
+        return ResponseEntity.ok().eTag(jwkSet.etag()).cacheControl(cacheControl).body(jwkSet.json());
+    }
+}
@@ -1,52 +1,75 @@
 package com.example.myblog.controller;
 
-import com.example.myblog.entity.RefreshToken;
-import com.example.myblog.service.RefreshTokenService;
+import com.example.myblog.config.VerifiedClaims;
+import com.example.myblog.dto.TokenResponse;
+import com.example.myblog.service.AuthService;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Map;
 
 /**
  * ✅ 리프레시 토큰 관리 컨트롤러
  *
  * - 리프레시 토큰을 생성하거나 삭제하는 API 제공
- * - 사용자는 userId 기반으로 토큰을 관리할 수 있음
+ * - 로그인/갱신/로그아웃과 같은 세션 저장소(`RefreshTokenStore`)를 사용하므로 어느 API로 발급해도 동작이 같음
+ * - 요청한 Access Token의 사용자 본인 토큰만 관리할 수 있음
  */
 @RestController
 @RequestMapping("/api/refresh-token")
 public class RefreshTokenController {
 
-    private final RefreshTokenService refreshTokenService;
+    private final AuthService authService;
 
     /**
      * ✅ 생성자 주입
      *
-     * @param refreshTokenService 리프레시 토큰을 관리하는 서비스
+     * @param authService 로그인 세션(리프레시 토큰)을 관리하는 서비스
      */
-    public RefreshTokenController(RefreshTokenService refreshTokenService) {
-        this.refreshTokenService = refreshTokenService;
+    public RefreshTokenController(AuthService authService) {
+        this.authService = authService;
     }
 
     /**
-     * ✅ 리프레시 토큰 생성
+     * ✅ 리프레시 토큰 생성 (새 로그인 세션 발급)
      *
-     * @param userId 사용자의 ID
-     * @return 생성된 RefreshToken 객체 반환
+     * @param token HTTP Authorization 헤더 (Bearer {JWT Access Token})
+     * @param userId 사용자의 ID (생략 가능, 지정하면 토큰의 사용자와 같아야 함)
+     * @param userAgent 기기 정보 (세션 목록 표시용)
+     * @return 새 세션의 Access & Refresh Token
      */
     @PostMapping("/generate")
-    public ResponseEntity<RefreshToken> generateToken(@RequestParam String userId) {
-        RefreshToken token = refreshTokenService.createRefreshToken(userId);
-        return ResponseEntity.ok(token);
+    public ResponseEntity<TokenResponse> generateToken(@RequestHeader("Authorization") String token,
+                                                       @RequestParam(required = false) String userId,
+                                                       @RequestHeader(value = "User-Agent", required = false) String userAgent) {
+        String subject = authorize(token, userId);
+        return ResponseEntity.ok(authService.createSession(subject, userAgent));
     }
 
     /**
-     * ✅ 리프레시 토큰 삭제
+     * ✅ 리프레시 토큰 삭제 (사용자의 모든 세션 로그아웃)
      *
-     * @param userId 사용자의 ID
-     * @return 200 OK 응답 반환
+     * @param token HTTP Authorization 헤더 (Bearer {JWT Access Token})
+     * @param userId 사용자의 ID (생략 가능, 지정하면 토큰의 사용자와 같아야 함)
+     * @return 삭제된 세션 수
      */
     @DeleteMapping("/delete")
-    public ResponseEntity<?> deleteToken(@RequestParam String userId) {
-        refreshTokenService.deleteByUserId(userId);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<Map<String, Long>> deleteToken(@RequestHeader("Authorization") String token,
+                                                         @RequestParam(required = false) String userId) {
+        String subject = authorize(token, userId);
+        return ResponseEntity.ok(Map.of("revoked", authService.revokeAllSessions(subject)));
+    }
+
+    /**
+     * ✅ Access Token 검증 후 subject 반환 (다른 사용자의 userId를 지정하면 403)
+     */
+    private String authorize(String token, String userId) {
+        VerifiedClaims claims = authService.verifyAccessToken(token);
+        if (userId != null && !userId.equals(claims.getSubject())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "다른 사용자의 토큰은 관리할 수 없습니다.");
+        }
+        return claims.getSubject();
     }
 }
@@ -0,0 +1,46 @@
+package com.example.myblog.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * ✅ Google userinfo API 응답 DTO
+ *
+ * - `https://www.googleapis.com/oauth2/v3/userinfo` 응답 중 로그인에 필요한 필드만 매핑
+ * - 그 외 필드(sub, locale 등)는 무시
+ */
+@Getter  // ✅ Lombok - getter 자동 생성
+@Setter  // ✅ Lombok - setter 자동 생성
+@NoArgsConstructor  // ✅ Jackson 역직렬화용 기본 생성자
+@AllArgsConstructor  // ✅ Lombok - 모든 필드를 포함한 생성자 자동 생성
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class GoogleUserInfo {
+
+    /**
+     * ✅ 이메일 (사용자 식별자)
+     */
+    private String email;
+
+    /**
+     * ✅ 표시 이름 (username으로 저장)
+     */
+    private String name;
+
+    /**
+     * ✅ 프로필 이미지 URL
+     */
+    private String picture;
+
+    /**
+     * ✅ Access Token 남은 유효 시간 (초)
+     *
+     * - 제공자가 알려주는 경우에만 값이 있음 (tokeninfo 형식 응답), 없으면 null
+     * - 검증된 토큰 캐시의 만료 시간 상한으로 사용
+     */
+    @JsonProperty("expires_in")
+    private Long expiresIn;
+}
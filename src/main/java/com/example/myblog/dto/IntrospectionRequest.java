@@ -0,0 +1,29 @@
+package com.example.myblog.dto;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * ✅ 토큰 검사(introspection) 요청 DTO
+ *
+ * - 단건: `{"token": "..."}` → 결과 1개
+ * - 일괄: `{"tokens": ["...", "..."]}` → 요청 순서대로 결과 목록 (API Gateway가 요청 하나로 여러 토큰 확인)
+ */
+@Getter  // ✅ Lombok - getter 자동 생성
+@Setter  // ✅ Lombok - setter 자동 생성
+@NoArgsConstructor  // ✅ Jackson 역직렬화용 기본 생성자
+public class IntrospectionRequest {
+
+    /**
+     * ✅ 검사할 토큰 (단건)
+     */
+    private String token;
+
+    /**
+     * ✅ 검사할 토큰 목록 (일괄)
+     */
+    private List<String> tokens;
+}
@@ -0,0 +1,35 @@
+package com.example.myblog.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * ✅ 토큰 검사(introspection) 결과 DTO (RFC 7662 형식)
+ *
+ * - 유효한 Access Token: active = true + 클레임 (exp/iat는 epoch 초)
+ * - 그 외(만료, 서명 오류, 폐기, Refresh Token 등): `{"active": false}`만 반환 (실패 사유는 알려주지 않음)
+ * - 불변 객체 (결과 캐시에서 여러 요청이 공유)
+ */
+@Getter  // ✅ Lombok - getter 자동 생성
+@AllArgsConstructor  // ✅ Lombok - 모든 필드를 포함한 생성자 자동 생성
+@JsonInclude(JsonInclude.Include.NON_NULL)  // ✅ 비활성 토큰은 active만 직렬화
+public class IntrospectionResponse {
+
+    public static final IntrospectionResponse INACTIVE = new IntrospectionResponse(false, null, null, null, null, null, null, null);
+
+    private final boolean active;
+
+    @JsonProperty("token_type")
+    private final String tokenType;  // 항상 "access_token"
+
+    private final String sub;        // 사용자 식별 값 (username 또는 email)
+    private final Set<String> roles; // 사용자 역할
+    private final Long exp;          // 만료 시간 (epoch 초)
+    private final Long iat;          // 발급 시간 (epoch 초)
+    private final String jti;        // 토큰 ID
+    private final String sid;        // 로그인 세션 ID
+}
@@ -0,0 +1,26 @@
+package com.example.myblog.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * ✅ 로그인 세션 정보 DTO
+ *
+ * - 기기별 로그인 세션 목록 조회(`GET /api/auth/sessions`) 응답에 사용됨
+ * - Refresh Token 값은 포함하지 않음
+ */
+@Getter  // ✅ Lombok - getter 자동 생성
+@Setter  // ✅ Lombok - setter 자동 생성
+@AllArgsConstructor  // ✅ Lombok - 모든 필드를 포함한 생성자 자동 생성
+public class SessionInfo {
+
+    private String sessionId;    // 세션 ID (Access Token의 sid 클레임)
+    private String device;       // 로그인한 기기 (User-Agent)
+    private Instant createdAt;   // 로그인 시간
+    private Instant lastUsedAt;  // 마지막 토큰 갱신 시간
+    private Instant expiresAt;   // 세션 만료 시간
+    private boolean current;     // 현재 요청을 보낸 세션이면 true
+}
@@ -0,0 +1,23 @@
+package com.example.myblog.dto;
+
+import java.util.Set;
+
+/**
+ * ✅ 인증용 사용자 조회 모델 (Projection)
+ *
+ * - 로그인, 토큰 재발급, 로그아웃, UserDetails 생성에 필요한 필드만 포함
+ * - `UserRepository`의 projection 메서드가 이 필드만 MongoDB에서 가져옴 (profile_image 등 제외)
+ * - 조회 메서드에 따라 일부 필드만 채워질 수 있음 (예: `UserNearCache`가 반환하는 객체는 password 제외)
+ */
+public interface UserAuthView {
+
+    String getUsername();
+
+    String getEmail();
+
+    String getPassword();
+
+    Set<String> getRoles();
+
+    String getOauthProvider();
+}
@@ -5,12 +5,14 @@ import lombok.Setter;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import java.time.Instant;
+import java.util.List;
 
 /**
- * ✅ MongoDB 리프레시 토큰 엔티티
+ * ✅ MongoDB 로그인 세션(Refresh Token) 엔티티
  *
- * - 로그인 후 발급된 리프레시 토큰을 저장
- * - 액세스 토큰 만료 시, 해당 토큰을 이용해 새 액세스 토큰 발급 가능
+ * - `auth.refresh-token.store=mongo`일 때 `MongoRefreshTokenStore`가 사용
+ * - 로그인 1회 = 문서 1개 (기기별 세션), Refresh Token 원문 대신 다이제스트만 저장
+ * - 액세스 토큰 만료 시, 해당 세션의 Refresh Token으로 새 토큰 발급 (회전)
  */
 @Getter  // ✅ Lombok - getter 자동 생성
 @Setter  // ✅ Lombok - setter 자동 생성
@@ -18,34 +20,51 @@ import java.time.Instant;
 public class RefreshToken {
 
     /**
-     * ✅ MongoDB에서 사용하는 ID 필드
+     * ✅ 세션 ID (Refresh Token 패밀리 ID)
      *
-     * - `@Id` 어노테이션을 사용하여 MongoDB 문서의 기본 키 지정
-     * - MongoDB의 기본 키 타입은 보통 String을 사용
+     * - Access Token의 sid 클레임, Refresh Token의 fid 클레임과 같은 값
      */
     @Id
     private String id;
 
     /**
-     * ✅ 저장된 리프레시 토큰 값
+     * ✅ 현재 유효한 Refresh Token의 다이제스트 (`RefreshTokenDigester`)
      *
-     * - 사용자가 새 액세스 토큰을 요청할 때, 해당 토큰을 검증하여 새 토큰을 발급
+     * - 토큰을 갱신할 때마다 새 토큰의 다이제스트로 교체됨
      */
-    private String token;
+    private byte[] token;
 
     /**
-     * ✅ 리프레시 토큰 만료 시간
+     * ✅ 유예 시간 안의 재시도로 추가 발급한 Refresh Token의 다이제스트 (최대 `RefreshTokenStore.MAX_RETRY_TOKENS`개)
+     *
+     * - 먼저 회전에 성공한 요청의 토큰(`token`)과 함께 현재 토큰으로 인정, 다음 회전 시 비움
+     */
+    private List<byte[]> retryTokens;
+
+    /**
+     * ✅ 직전 회전에서 소비된 Refresh Token의 다이제스트
+     *
+     * - `rotatedAt`부터 유예 시간 동안은 재사용이 아닌 재시도로 처리 (응답 유실, 동시 갱신)
+     */
+    private byte[] previousToken;
+    private Instant rotatedAt;   // 마지막 회전 시간 (재시도 유예 시간 기준)
+
+    /**
+     * ✅ 세션 만료 시간
      *
      * - `Instant` 타입을 사용하여 만료 시간을 저장 (UTC 표준 시간)
-     * - 리프레시 토큰이 만료되었는지 검증할 때 사용
+     * - 마지막 갱신 시점 + Refresh Token 유효 기간, TTL 인덱스로 만료 시 자동 삭제
      */
     private Instant expiryDate;
 
     /**
-     * ✅ 리프레시 토큰과 연결된 사용자 ID
+     * ✅ 세션의 사용자 (토큰 subject: username 또는 email)
      *
-     * - `@DBRef` 대신, **사용자의 ID만 저장**하여 성능 최적화
-     * - 필요하면 `UserRepository`를 통해 사용자 정보 조회 가능
+     * - `@DBRef` 대신, **식별자만 저장**하여 성능 최적화
      */
     private String userId;
+
+    private Instant createdAt;   // 로그인 시간
+    private Instant lastUsedAt;  // 마지막 토큰 갱신 시간
+    private String device;       // 로그인한 기기 (User-Agent)
 }
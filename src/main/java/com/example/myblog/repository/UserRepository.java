@@ -1,8 +1,14 @@
 package com.example.myblog.repository;
 
+import com.example.myblog.dto.UserAuthView;
+import com.example.myblog.dto.UserDTO;
 import com.example.myblog.entity.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
 
 /**
  * ✅ User 저장소 (MongoDB)
@@ -10,8 +16,9 @@ import java.util.Optional;
  * - MongoDB에서 `users` 컬렉션을 관리하는 Repository
  * - Spring Data MongoDB의 `MongoRepository`를 확장하여 기본적인 CRUD 기능 제공
  * - 사용자 조회 및 존재 여부 확인을 위한 메서드 포함
+ * - OAuth 사용자 upsert는 `UserRepositoryCustom` 참고
  */
-public interface UserRepository extends MongoRepository<User, String> {
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
 
     /**
      * ✅ 일반 로그인 사용자를 `username` 기준으로 조회
@@ -56,4 +63,92 @@ public interface UserRepository extends MongoRepository<User, String> {
      * @return 존재 여부 (`true`: 이미 존재, `false`: 사용 가능)
      */
     boolean existsByEmail(String email);
+
+    /**
+     * ✅ 인증에 필요한 필드만 `username` 기준으로 조회 (Projection)
+     *
+     * @param username 사용자명
+     * @return username, email, password, roles, oauth_provider만 채워진 조회 모델
+     */
+    Optional<UserAuthView> findAuthViewByUsername(String username);
+
+    /**
+     * ✅ 인증에 필요한 필드만 `email` 기준으로 조회 (Projection)
+     *
+     * @param email 사용자 이메일
+     * @return username, email, password, roles, oauth_provider만 채워진 조회 모델
+     */
+    Optional<UserAuthView> findAuthViewByEmail(String email);
+
+    /**
+     * ✅ username 또는 email이 일치하는 사용자의 인증 필드를 한 번의 쿼리로 조회
+     *
+     * - JWT subject는 일반 로그인이면 username, 소셜 로그인이면 email이므로 두 필드를 `$or`로 함께 검색
+     * - 각 조건은 username / email 인덱스를 사용 (`MongoIndexInitializer` 참고)
+     * - OAuth 사용자의 username(표시 이름)이 겹칠 수 있으므로 여러 건이 반환될 수 있음
+     *
+     * @param identifier username 또는 email
+     * @return 일치하는 사용자 목록
+     */
+    @Query(value = "{ '$or': [ { 'username': ?0 }, { 'email': ?0 } ] }",
+            fields = "{ 'username': 1, 'email': 1, 'password': 1, 'roles': 1, 'oauth_provider': 1 }")
+    List<UserAuthView> findAuthViewsByIdentifier(String identifier);
+
+    /**
+     * ✅ 사용자 프로필(username, email, roles)만 조회 (`UserDTO` Projection)
+     *
+     * - `/api/auth/user` 응답용, 비밀번호 해시는 조회하지 않음
+     *
+     * @param identifier username 또는 email
+     * @return 일치하는 사용자 프로필 목록
+     */
+    @Query(value = "{ '$or': [ { 'username': ?0 }, { 'email': ?0 } ] }",
+            fields = "{ 'username': 1, 'email': 1, 'roles': 1 }")
+    List<UserDTO> findProfilesByIdentifier(String identifier);
+
+    /**
+     * ✅ 일반 로그인 사용자의 비밀번호 해시 변경 (해시 강도 업그레이드 등)
+     *
+     * - username 또는 email이 일치하고 비밀번호가 있는(일반 로그인) 사용자만 대상
+     * - 문서 전체를 다시 저장하지 않고 password 필드만 `$set`
+     *
+     * @param identifier username 또는 email
+     * @param encodedPassword 새 비밀번호 해시
+     * @return 변경된 문서 수
+     */
+    @Query("{ '$or': [ { 'username': ?0 }, { 'email': ?0 } ], 'password': { '$exists': true } }")
+    @Update("{ '$set': { 'password': ?1 } }")
+    long updatePasswordByIdentifier(String identifier, String encodedPassword);
+
+    /**
+     * ✅ username 또는 email로 사용자 한 명의 인증 필드 조회 (username 일치를 우선)
+     *
+     * - 기존의 "username으로 조회 후 없으면 email로 재조회" 동작을 한 번의 왕복으로 수행
+     *
+     * @param identifier username 또는 email
+     * @return 해당 사용자를 담은 `Optional<UserAuthView>` 객체
+     */
+    default Optional<UserAuthView> findAuthViewByIdentifier(String identifier) {
+        return pickByIdentifier(findAuthViewsByIdentifier(identifier), identifier, UserAuthView::getUsername);
+    }
+
+    /**
+     * ✅ username 또는 email로 사용자 프로필 조회 (username 일치를 우선)
+     *
+     * @param identifier username 또는 email
+     * @return 해당 사용자의 `Optional<UserDTO>` 객체
+     */
+    default Optional<UserDTO> findProfileByIdentifier(String identifier) {
+        return pickByIdentifier(findProfilesByIdentifier(identifier), identifier, UserDTO::getUsername);
+    }
+
+    /**
+     * ✅ 여러 건이 조회된 경우 username이 정확히 일치하는 사용자를 우선 선택
+     */
+    static <T> Optional<T> pickByIdentifier(List<T> matches, String identifier, Function<T, String> username) {
+        return matches.stream()
+                .filter(match -> identifier.equals(username.apply(match)))
+                .findFirst()
+                .or(() -> matches.stream().findFirst());
+    }
 }
@@ -0,0 +1,31 @@
+package com.example.myblog.repository;
+
+import com.example.myblog.entity.User;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * ✅ User 저장소 커스텀 메서드 (MongoTemplate 직접 사용)
+ *
+ * - 메서드 이름 규칙이나 `@Query`/`@Update`로 표현할 수 없는 upsert 등의 연산을 정의
+ * - 구현체: `UserRepositoryCustomImpl` (Spring Data가 UserRepository에 자동으로 합쳐줌)
+ */
+public interface UserRepositoryCustom {
+
+    /**
+     * ✅ OAuth 사용자 upsert (email 기준, 한 번의 findAndModify)
+     *
+     * - 기존 사용자: username, profile_image만 `$set` (값이 같으면 MongoDB가 쓰기를 생략)
+     * - 신규 사용자: 위 필드 + oauth_provider, 기본 roles를 `$setOnInsert`로 함께 삽입
+     * - 같은 email로 동시에 첫 로그인해도 email 고유 인덱스 덕분에 사용자는 하나만 생성됨
+     *
+     * @param email 사용자 이메일 (식별자)
+     * @param name 표시 이름 (username으로 저장)
+     * @param profileImage 프로필 이미지 URL
+     * @param provider OAuth 제공자 (예: google)
+     * @param defaultRoles 신규 사용자에게 부여할 역할
+     * @return 변경 전 사용자 (username, profileImage, roles만 채워짐), 새로 생성된 경우 `Optional.empty()`
+     */
+    Optional<User> upsertOAuthUser(String email, String name, String profileImage, String provider, Set<String> defaultRoles);
+}
@@ -0,0 +1,45 @@
+package com.example.myblog.repository;
+
+import com.example.myblog.entity.User;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * ✅ UserRepositoryCustom 구현체
+ */
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+    private final MongoTemplate mongoTemplate;
+
+    public UserRepositoryCustomImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Optional<User> upsertOAuthUser(String email, String name, String profileImage, String provider, Set<String> defaultRoles) {
+        Query query = Query.query(Criteria.where("email").is(email));
+        query.fields().include("username", "profileImage", "roles"); // 🔍 변경 전 값 비교에 필요한 필드만 반환
+
+        Update update = new Update()
+                .set("username", name)
+                .set("profileImage", profileImage)
+                .setOnInsert("oauthProvider", provider)
+                .setOnInsert("roles", defaultRoles);
+
+        // ✅ returnNew(false): 변경 전 문서를 반환 (새로 삽입된 경우 null)
+        FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(false);
+
+        try {
+            return Optional.ofNullable(mongoTemplate.findAndModify(query, update, options, User.class));
+        } catch (DuplicateKeyException e) {
+            // 🔥 같은 email로 동시에 첫 로그인 → 다른 요청이 먼저 삽입함, 재시도하면 기존 문서 업데이트로 처리됨
+            return Optional.ofNullable(mongoTemplate.findAndModify(query, update, options, User.class));
+        }
+    }
+}
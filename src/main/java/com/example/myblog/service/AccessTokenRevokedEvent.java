@@ -0,0 +1,31 @@
+package com.example.myblog.service;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * ✅ Access Token 폐기 이벤트
+ *
+ * - 로그아웃 등으로 아직 만료되지 않은 Access Token을 더 이상 받지 않아야 할 때 발행
+ * - 폐기 목록(denylist)을 관리하는 컴포넌트가 이 이벤트를 받아 토큰 ID(jti)를 등록
+ * - 만료 시간이 지나면 토큰은 어차피 거부되므로 폐기 목록에서도 제거됨
+ */
+@Getter
+public class AccessTokenRevokedEvent {
+
+    /**
+     * ✅ 폐기할 토큰 ID (jti)
+     */
+    private final String tokenId;
+
+    /**
+     * ✅ 토큰 만료 시간 (이 시각까지만 폐기 목록에 보관)
+     */
+    private final Instant expiresAt;
+
+    public AccessTokenRevokedEvent(String tokenId, Instant expiresAt) {
+        this.tokenId = tokenId;
+        this.expiresAt = expiresAt;
+    }
+}
@@ -1,20 +1,31 @@
 package com.example.myblog.service;
 
 import com.example.myblog.dto.LoginRequest;
+import com.example.myblog.dto.SessionInfo;
 import com.example.myblog.dto.SignupRequest;
 import com.example.myblog.dto.TokenResponse;
+import com.example.myblog.dto.UserAuthView;
 import com.example.myblog.entity.User;
+import com.example.myblog.config.JwtSigningKeys;
 import com.example.myblog.config.JwtUtil;
+import com.example.myblog.config.VerifiedClaims;
 import com.example.myblog.repository.UserRepository;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.web.server.ResponseStatusException;
@@ -22,130 +33,351 @@ import org.springframework.web.server.ResponseStatusException;
 @Service
 public class AuthService {
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final UserNearCache userNearCache;
+    private final PasswordHashingPool passwordHashingPool;
     private final JwtUtil jwtUtil;
-    private final StringRedisTemplate redisTemplate;
+    private final RefreshTokenStore refreshTokenStore;
+    private final TokenEpochService tokenEpochService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    // 🔍 로그인 단계별 소요 시간 (BCrypt 대기/실행 시간은 PasswordHashingPool이 기록)
+    private final Timer lookupTimer;
+    private final Timer tokenTimer;
+    private final Timer redisTimer;
+    private final Counter reuseCounter;
+    private final Counter retryCounter;
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
     /**
      * ✅ 생성자 주입
      * - Spring이 의존성을 자동으로 주입하도록 설정
+     * - 로그인/갱신/로그아웃 전체 시간(`auth.login`, `auth.refresh`, `auth.logout`),
+     *   로그인 단계별 시간(`auth.login.stage`), Refresh Token 재사용 감지 횟수(`auth.refresh.reuse`),
+     *   유예 시간 안의 재시도 횟수(`auth.refresh.retry`)를 Micrometer로 기록
      */
-    public AuthService(UserRepository userRepository, PasswordEncoder passwordEncoder, JwtUtil jwtUtil, StringRedisTemplate redisTemplate) {
+    public AuthService(UserRepository userRepository, UserNearCache userNearCache, PasswordHashingPool passwordHashingPool, JwtUtil jwtUtil, RefreshTokenStore refreshTokenStore,
+                       TokenEpochService tokenEpochService, ApplicationEventPublisher eventPublisher, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.userNearCache = userNearCache;
+        this.passwordHashingPool = passwordHashingPool;
         this.jwtUtil = jwtUtil;
-        this.redisTemplate = redisTemplate;
+        this.refreshTokenStore = refreshTokenStore;
+        this.tokenEpochService = tokenEpochService;
+        this.eventPublisher = eventPublisher;
+        this.meterRegistry = meterRegistry;
+        this.lookupTimer = stageTimer("lookup");
+        this.tokenTimer = stageTimer("token");
+        this.redisTimer = stageTimer("redis");
+        this.reuseCounter = Counter.builder("auth.refresh.reuse")
+                .description("재사용이 감지되어 폐기된 Refresh Token 패밀리 수")
+                .register(meterRegistry);
+        this.retryCounter = Counter.builder("auth.refresh.retry")
+                .description("유예 시간 안에 직전 Refresh Token으로 다시 갱신한 횟수 (응답 유실, 동시 갱신)")
+                .register(meterRegistry);
     }
 
     /**
      * ✅ 회원가입 메서드
      * - username이 이미 존재하는지 확인
-     * - 비밀번호를 암호화하여 저장
+     * - 비밀번호를 암호화하여 저장 (BCrypt 해싱은 전용 스레드 풀에서 실행)
      * - 기본 역할(ROLE_USER) 추가
      */
-    public String signup(SignupRequest signupRequest) {
+    public CompletableFuture<String> signup(SignupRequest signupRequest) {
         if (userRepository.existsByUsername(signupRequest.getUsername())) {
             throw new RuntimeException("이미 존재하는 사용자명입니다.");
         }
 
-        // 🔥 새로운 사용자 객체 생성
-        User user = new User();
-        user.setUsername(signupRequest.getUsername());
-        user.setPassword(passwordEncoder.encode(signupRequest.getPassword())); // ✅ 비밀번호 암호화 저장
-        user.setEmail(signupRequest.getEmail());
+        return passwordHashingPool.encode(signupRequest.getPassword()).thenApply(encodedPassword -> {
+            // 🔥 새로운 사용자 객체 생성
+            User user = new User();
+            user.setUsername(signupRequest.getUsername());
+            user.setPassword(encodedPassword); // ✅ 비밀번호 암호화 저장
+            user.setEmail(signupRequest.getEmail());
 
-        // 🔥 역할(ROLE) 설정
-        Set<String> roles = signupRequest.getRoles() != null ? new HashSet<>(signupRequest.getRoles()) : new HashSet<>();
-        if (roles.isEmpty()) {
-            roles.add("ROLE_USER"); // 기본 역할 부여
-        }
-        user.setRoles(roles);
+            // 🔥 역할(ROLE) 설정
+            Set<String> roles = signupRequest.getRoles() != null ? new HashSet<>(signupRequest.getRoles()) : new HashSet<>();
+            if (roles.isEmpty()) {
+                roles.add("ROLE_USER"); // 기본 역할 부여
+            }
+            user.setRoles(roles);
 
-        userRepository.save(user);
-        return "회원가입 성공!";
+            userRepository.save(user);
+
+            // 🔥 캐시된 사용자 정보 무효화 (같은 식별자로 캐시된 항목 제거)
+            eventPublisher.publishEvent(new UserChangedEvent(user.getUsername(), user.getEmail()));
+            return "회원가입 성공!";
+        });
     }
 
     /**
      * ✅ 로그인 메서드
      * - username 기반으로 사용자 조회
-     * - 비밀번호 검증
-     * - Access Token 및 Refresh Token 생성 후 반환
+     * - 비밀번호 검증 (BCrypt 검증은 전용 스레드 풀에서 실행, 요청 스레드를 점유하지 않음)
+     * - Access Token 및 Refresh Token 생성 후 반환 (기기별 로그인 세션 생성)
+     *
+     * @param device 로그인한 기기 정보 (User-Agent, 세션 목록 표시용)
      */
-    public TokenResponse login(LoginRequest loginRequest) {
-        // 🔍 사용자 찾기
-        User user = userRepository.findByUsername(loginRequest.getUsername())
+    public CompletableFuture<TokenResponse> login(LoginRequest loginRequest, String device) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            return authenticate(loginRequest, device)
+                    .whenComplete((response, e) -> sample.stop(outcomeTimer("auth.login", e)));
+        } catch (RuntimeException e) {
+            sample.stop(outcomeTimer("auth.login", e));
+            throw e;
+        }
+    }
+
+    private CompletableFuture<TokenResponse> authenticate(LoginRequest loginRequest, String device) {
+        // 🔍 사용자 찾기 (비밀번호 해시는 캐시에 두지 않으므로 MongoDB에서 직접 조회)
+        UserAuthView user = lookupTimer.record(() -> userRepository.findAuthViewByUsername(loginRequest.getUsername()))
                 .orElseThrow(() -> new RuntimeException("사용자를 찾을 수 없습니다."));
 
         // 🔍 비밀번호 검증
-        if (!passwordEncoder.matches(loginRequest.getPassword(), user.getPassword())) {
-            throw new RuntimeException("비밀번호가 일치하지 않습니다.");
-        }
+        return passwordHashingPool.matches(loginRequest.getPassword(), user.getPassword()).thenApply(matches -> {
+            if (!matches) {
+                throw new RuntimeException("비밀번호가 일치하지 않습니다.");
+            }
 
-        // 🔥 JWT 토큰 생성 (Access & Refresh)
-        String accessToken = jwtUtil.generateAccessToken(user.getUsername(), user.getRoles());
-        String refreshToken = jwtUtil.generateRefreshToken(user.getUsername());
+            // 🔥 저장된 해시 강도가 낮으면 백그라운드에서 재해싱 (응답은 기다리지 않음)
+            if (passwordHashingPool.needsUpgrade(user.getPassword())) {
+                upgradePasswordHash(user.getUsername(), loginRequest.getPassword());
+            }
 
-        // 🔥 Redis에 Refresh Token 저장 (기존 토큰 삭제 후 저장)
-        String redisKey = "refresh_token:" + user.getUsername();
-        redisTemplate.delete(redisKey);  // 기존 값 삭제
-        redisTemplate.opsForValue().set(redisKey, refreshToken, jwtUtil.getRefreshTokenExpiration(), TimeUnit.MILLISECONDS);
+            // 🔥 JWT 토큰 생성 (Access & Refresh, 로그인마다 새 세션 = 새 토큰 패밀리)
+            String sessionId = JwtUtil.newTokenId();
+            long tokenVersion = tokenEpochService.current(user.getUsername());
+            TokenResponse tokens = tokenTimer.record(() -> new TokenResponse(
+                    jwtUtil.generateAccessToken(user.getUsername(), user.getRoles(), sessionId, tokenVersion),
+                    jwtUtil.generateRefreshToken(user.getUsername(), sessionId)));
 
-        return new TokenResponse(accessToken, refreshToken);
+            // 🔥 Redis에 세션 저장 (다른 기기의 세션은 유지, 최대 세션 수 초과분만 제거 - Lua 스크립트 한 번)
+            redisTimer.record(() -> refreshTokenStore.save(user.getUsername(), sessionId, tokens.getRefreshToken(),
+                    Duration.ofMillis(jwtUtil.getRefreshTokenExpiration()), device));
+
+            return tokens;
+        });
     }
 
     /**
-     * ✅ 리프레시 토큰을 이용한 새로운 액세스 토큰 발급
-     * - Redis에 저장된 Refresh Token과 비교하여 유효성 검증
-     * - Refresh Token이 일치하면 새로운 Access Token 발급
+     * ✅ 비밀번호 해시 강도 업그레이드
+     * - 현재 강도로 다시 해싱하여 password 필드만 갱신
+     * - 해싱 풀이 포화 상태이면 다음 로그인 때 다시 시도
      */
-    public String refreshToken(String refreshToken) {
-        String username = jwtUtil.extractUsername(refreshToken);
-        String redisKey = "refresh_token:" + username;
-        String storedToken = redisTemplate.opsForValue().get(redisKey);
+    private void upgradePasswordHash(String username, String rawPassword) {
+        passwordHashingPool.encode(rawPassword)
+                .thenAccept(encodedPassword -> {
+                    userRepository.updatePasswordByIdentifier(username, encodedPassword);
+                    eventPublisher.publishEvent(new UserChangedEvent(username));
+                    logger.info("✅ 비밀번호 해시 강도 업그레이드 완료 - username: {}", username);
+                })
+                .exceptionally(e -> {
+                    logger.warn("⚠️ 비밀번호 해시 업그레이드 실패 - username: {}, {}", username, e.getMessage());
+                    return null;
+                });
+    }
 
-        if (storedToken == null) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "리프레시 토큰이 존재하지 않거나 만료되었습니다.");
-        }
+    /**
+     * ✅ 리프레시 토큰을 이용한 토큰 재발급 (Refresh Token 회전)
+     * - 제시된 Refresh Token을 소비하고 같은 패밀리의 새 Refresh Token으로 교체 (Redis Lua 스크립트 1회)
+     * - 이미 소비된 Refresh Token이 다시 사용되면 탈취로 보고 해당 세션(패밀리) 전체를 폐기 → 재로그인 필요
+     *   (단, 직전 토큰이 유예 시간 안에 다시 오면 응답 유실/동시 갱신으로 보고 새 토큰을 다시 발급)
+     * - 세션 Hash 하나만 다루므로 사용자의 로그인 기기 수와 관계없이 비용이 일정함
+     * - 새로운 Access Token과 Refresh Token을 함께 반환
+     */
+    public TokenResponse refreshToken(String refreshToken) {
+        return timed("auth.refresh", () -> rotateTokens(refreshToken));
+    }
 
-        if (!storedToken.equals(refreshToken)) {
-            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "리프레시 토큰이 일치하지 않습니다.");
+    private TokenResponse rotateTokens(String refreshToken) {
+        // 🔍 서명 및 만료 검증과 파싱을 한 번에 수행
+        VerifiedClaims claims;
+        try {
+            claims = jwtUtil.verify(refreshToken);
+        } catch (JwtSigningKeys.KeysUnavailableException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "잠시 후 다시 시도해주세요.");
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "리프레시 토큰이 유효하지 않습니다.");
         }
 
-        if (!jwtUtil.validateToken(refreshToken)) {
+        // ❌ 패밀리 ID가 없는 토큰(Access Token 또는 회전 도입 전 발급된 토큰)은 갱신 불가
+        if (claims.getFamilyId() == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "리프레시 토큰이 유효하지 않습니다.");
         }
 
-        User user = userRepository.findByUsername(username)
+        // 🔍 사용자 조회는 회전 전에 수행 (조회 실패로 응답하지 못하면 제시된 토큰만 소비되어 세션을 잃음)
+        // subject: 일반 로그인은 username, 소셜 로그인은 email → createSession과 같이 통합 식별자로 조회
+        String subject = claims.getSubject();
+        UserAuthView user = userNearCache.findByIdentifier(subject)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "사용자를 찾을 수 없습니다."));
+        String newRefreshToken = jwtUtil.generateRefreshToken(subject, claims.getFamilyId());
+
+        // 🔥 비교 + 교체 + 재사용 감지를 한 번의 Redis 호출로 처리
+        switch (refreshTokenStore.rotate(subject, claims.getFamilyId(), refreshToken, newRefreshToken,
+                Duration.ofMillis(jwtUtil.getRefreshTokenExpiration()))) {
+            case NOT_FOUND -> throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "리프레시 토큰이 존재하지 않거나 만료되었습니다.");
+            case REUSED -> {
+                reuseCounter.increment();
+                logger.warn("⚠️ 리프레시 토큰 재사용 감지 - 세션 폐기: {} ({})", subject, claims.getFamilyId());
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "리프레시 토큰이 일치하지 않습니다.");
+            }
+            case RETRIED -> {
+                retryCounter.increment();
+                logger.info("🔄 리프레시 토큰 재시도 (유예 시간 내) - {} ({})", subject, claims.getFamilyId());
+            }
+            case ROTATED -> { }
+        }
+
+        return new TokenResponse(jwtUtil.generateAccessToken(subject, user.getRoles(), claims.getFamilyId(),
+                tokenEpochService.current(subject)), newRefreshToken);
+    }
+
+    /**
+     * ✅ 로그아웃 메서드 (Redis에서 로그인 세션 삭제 + Access Token 폐기)
+     * - 토큰 subject가 곧 세션 저장소의 키이므로 사용자를 다시 조회하지 않음
+     * - 해당 세션(기기)의 Refresh Token만 제거, 세션 ID가 없는 토큰(세션 도입 전 발급)은 모든 세션을 제거
+     * - 로그아웃에 사용한 Access Token은 만료 전이라도 더 이상 받지 않도록 폐기 이벤트 발행
+     *
+     * @param claims 로그아웃 요청의 Access Token 클레임 (`verifyAccessToken`으로 검증된 subject, sid, jti, 만료 시간)
+     */
+    public void logout(VerifiedClaims claims) {
+        timed("auth.logout", () -> {
+            deleteRefreshToken(claims.getSubject(), claims.getSessionId());
+            eventPublisher.publishEvent(new AccessTokenRevokedEvent(claims.getTokenId(), claims.getExpiresAt()));
+            return null;
+        });
+    }
+
+    private void deleteRefreshToken(String subject, String sessionId) {
+        // 🔥 세션 저장소에서 세션 삭제 (subject: 일반 로그인은 username, 소셜 로그인은 email)
+        boolean deleted = sessionId != null
+                ? refreshTokenStore.delete(subject, sessionId)
+                : refreshTokenStore.deleteAll(subject) > 0;
+        if (deleted) {
+            logger.info("✅ 로그아웃 성공 - 세션 삭제됨: {}", subject);
+        } else {
+            logger.warn("⚠️ 로그아웃 - 삭제할 세션 없음: {}", subject);
+        }
+    }
+
+    /**
+     * ✅ 인증된 사용자에게 새 로그인 세션 발급 (`POST /api/refresh-token/generate`)
+     * - 비밀번호 확인 없이 새 기기용 Access/Refresh Token을 발급 (이미 로그인한 사용자 전용)
+     *
+     * @param subject 토큰 subject (username 또는 email)
+     * @param device 기기 정보 (User-Agent)
+     */
+    public TokenResponse createSession(String subject, String device) {
+        UserAuthView user = userNearCache.findByIdentifier(subject)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "사용자를 찾을 수 없습니다."));
 
-        return jwtUtil.generateAccessToken(user.getUsername(), user.getRoles());
+        String sessionId = JwtUtil.newTokenId();
+        TokenResponse tokens = new TokenResponse(
+                jwtUtil.generateAccessToken(subject, user.getRoles(), sessionId, tokenEpochService.current(subject)),
+                jwtUtil.generateRefreshToken(subject, sessionId));
+        refreshTokenStore.save(subject, sessionId, tokens.getRefreshToken(),
+                Duration.ofMillis(jwtUtil.getRefreshTokenExpiration()), device);
+        return tokens;
     }
 
     /**
-     * ✅ 로그아웃 메서드 (Redis에서 Refresh Token 삭제)
-     * - 사용자를 찾아 Redis에서 해당 Refresh Token을 제거
+     * ✅ 로그인 세션(기기) 목록 조회
+     *
+     * @param subject 토큰 subject (username 또는 email)
+     * @param currentSessionId 요청을 보낸 세션 ID (목록에서 현재 기기 표시용)
      */
-    public void logout(String identifier) {
-        logger.info("🔍 로그아웃 요청 - identifier: {}", identifier);
+    public List<SessionInfo> listSessions(String subject, String currentSessionId) {
+        List<SessionInfo> sessions = refreshTokenStore.findSessions(subject);
+        sessions.forEach(session -> session.setCurrent(session.getSessionId().equals(currentSessionId)));
+        return sessions;
+    }
 
-        // 🔍 사용자가 username인지 email인지 확인 후 조회
-        User user = userRepository.findByUsername(identifier)
-                .orElseGet(() -> userRepository.findByEmail(identifier)
-                        .orElseThrow(() -> new RuntimeException("❌ 로그아웃 실패 - 사용자를 찾을 수 없습니다.")));
+    /**
+     * ✅ 특정 로그인 세션(기기) 강제 로그아웃
+     *
+     * @return 삭제된 세션이 있으면 true
+     */
+    public boolean revokeSession(String subject, String sessionId) {
+        boolean deleted = refreshTokenStore.delete(subject, sessionId);
+        if (deleted) {
+            logger.info("✅ 세션 강제 로그아웃 - subject: {}, sessionId: {}", subject, sessionId);
+        }
+        return deleted;
+    }
 
-        logger.info("✅ 로그아웃 성공 - username: {}", user.getUsername());
+    /**
+     * ✅ 모든 로그인 세션(기기) 로그아웃
+     * - 토큰 세대 번호를 올려 이미 발급된 모든 Access Token도 즉시 무효화 (비밀번호 변경, 권한 회수 등)
+     * - 이후 모든 세션(Refresh Token) 삭제
+     *
+     * @return 삭제된 세션 수
+     */
+    public long revokeAllSessions(String subject) {
+        long epoch = tokenEpochService.bump(subject);
+        long deleted = refreshTokenStore.deleteAll(subject);
+        logger.info("✅ 모든 세션 로그아웃 - subject: {}, 삭제된 세션: {}, 토큰 세대: {}", subject, deleted, epoch);
+        return deleted;
+    }
 
-        // 🔥 Redis Key 생성 (일반 로그인: username, 소셜 로그인: email)
-        String redisKey = user.getOauthProvider() != null ? "refresh_token:" + user.getEmail() : "refresh_token:" + user.getUsername();
+    /**
+     * ✅ Authorization 헤더의 Access Token 검증 (실패 시 401)
+     * - Refresh Token(fid 클레임 포함)은 Access Token 대신 사용할 수 없음
+     */
+    public VerifiedClaims verifyAccessToken(String authorizationHeader) {
+        VerifiedClaims claims;
+        try {
+            claims = jwtUtil.verify(authorizationHeader.replace("Bearer ", "").trim());
+        } catch (JwtSigningKeys.KeysUnavailableException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "잠시 후 다시 시도해주세요.");
+        } catch (JwtException | IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "유효하지 않은 토큰입니다.");
+        }
+        if (claims.getFamilyId() != null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "유효하지 않은 토큰입니다.");
+        }
+        return claims;
+    }
 
-        // 🔥 Redis에서 Refresh Token 삭제
-        Boolean deleted = redisTemplate.delete(redisKey);
+    /**
+     * ✅ 동기 작업 실행 시간을 결과(outcome)별로 기록
+     */
+    private <T> T timed(String name, Supplier<T> operation) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            T result = operation.get();
+            sample.stop(outcomeTimer(name, null));
+            return result;
+        } catch (RuntimeException e) {
+            sample.stop(outcomeTimer(name, e));
+            throw e;
+        }
+    }
 
-        if (Boolean.TRUE.equals(deleted)) {
-            logger.info("✅ 로그아웃 성공 - Refresh Token 삭제됨: {}", redisKey);
-        } else {
-            logger.warn("⚠️ 로그아웃 실패 - Redis에서 삭제되지 않음: {}", redisKey);
+    private Timer outcomeTimer(String name, Throwable error) {
+        return Timer.builder(name)
+                .tag("outcome", outcome(error))
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private Timer stageTimer(String stage) {
+        return Timer.builder("auth.login.stage")
+                .description("로그인 단계별 소요 시간")
+                .tag("stage", stage)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * ✅ 예외 → 메트릭 태그(outcome)
+     * - success: 정상 처리 / rejected: 해싱 풀 포화(503) / failure: 인증 실패 등 그 외 예외
+     */
+    private String outcome(Throwable error) {
+        if (error == null) {
+            return "success";
         }
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof PasswordHashingPool.PoolSaturatedException ? "rejected" : "failure";
     }
 }
@@ -0,0 +1,231 @@
+package com.example.myblog.service;
+
+import com.example.myblog.dto.GoogleUserInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ✅ GoogleUserInfoClient (Google userinfo API 비동기 클라이언트)
+ *
+ * - JDK HttpClient 하나를 재사용하여 keep-alive 커넥션을 유지 (요청마다 새로 연결하지 않음)
+ * - 연결 타임아웃과 응답 타임아웃을 적용하여 느린 응답이 스레드를 붙잡지 않도록 함
+ * - Bulkhead: 동시에 진행 중인 호출 수를 제한 (초과 시 즉시 503)
+ * - Circuit Breaker: 실패/지연 비율이 높으면 일정 시간 호출을 차단 (차단 중에는 즉시 503)
+ * - 결과는 CompletableFuture로 반환하며, 응답을 기다리는 동안 요청 스레드를 점유하지 않음
+ *
+ * 📌 잘못된 토큰(401/403)은 Google 장애가 아니므로 Circuit Breaker 실패로 집계하지 않음
+ */
+@Component
+public class GoogleUserInfoClient {
+
+    private static final String PROVIDER = "google-userinfo";
+
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final URI userInfoUri;
+    private final Duration requestTimeout;
+    private final ExecutorService executor;
+    private final HttpClient httpClient;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    /**
+     * ✅ GoogleUserInfoClient 생성자
+     *
+     * @param userInfoUri userinfo API 주소 (테스트에서는 로컬 스텁 서버 주소)
+     * @param connectTimeout TCP/TLS 연결 타임아웃
+     * @param requestTimeout 응답 타임아웃 (요청 전송 ~ 응답 헤더 수신)
+     * @param maxConcurrentCalls 동시에 진행할 수 있는 최대 호출 수
+     * @param ioThreads HttpClient 응답 처리 스레드 수
+     * @param failureRateThreshold 차단을 시작할 실패(또는 지연) 비율 (%)
+     * @param slowCallDuration 이 시간보다 오래 걸린 호출은 지연 호출로 집계
+     * @param waitInOpenState 차단 후 다시 호출을 시도하기까지의 시간
+     */
+    public GoogleUserInfoClient(ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry,
+                                @Value("${auth.google.userinfo-uri:https://www.googleapis.com/oauth2/v3/userinfo}") URI userInfoUri,
+                                @Value("${auth.google.connect-timeout:2s}") Duration connectTimeout,
+                                @Value("${auth.google.request-timeout:3s}") Duration requestTimeout,
+                                @Value("${auth.google.max-concurrent-calls:64}") int maxConcurrentCalls,
+                                @Value("${auth.google.io-threads:4}") int ioThreads,
+                                @Value("${auth.google.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                                @Value("${auth.google.circuit-breaker.slow-call-duration:2s}") Duration slowCallDuration,
+                                @Value("${auth.google.circuit-breaker.wait-in-open-state:30s}") Duration waitInOpenState) {
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.userInfoUri = userInfoUri;
+        this.requestTimeout = requestTimeout;
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(ioThreads, runnable -> {
+            Thread thread = new Thread(runnable, "google-http-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout)
+                .executor(executor)
+                .build();
+
+        CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(20)
+                .minimumNumberOfCalls(10)
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(3)
+                .build());
+        BulkheadRegistry bulkheadRegistry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ZERO) // 대기하지 않고 즉시 거절
+                .build());
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(PROVIDER);
+        this.bulkhead = bulkheadRegistry.bulkhead(PROVIDER);
+
+        // 🔍 상태/호출 수 메트릭 (resilience4j_circuitbreaker_*, resilience4j_bulkhead_*)
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry).bindTo(meterRegistry);
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry).bindTo(meterRegistry);
+    }
+
+    /**
+     * ✅ Google Access Token으로 사용자 정보 조회
+     *
+     * - 실패 시 ResponseStatusException으로 완료
+     *   - 401: 유효하지 않은 토큰 / 이메일 정보 없음
+     *   - 503: 동시 호출 수 초과 또는 Circuit Breaker 차단 중
+     *   - 504: 응답 타임아웃
+     *   - 502: 연결 실패, 5xx 응답, 잘못된 응답 형식
+     *
+     * @param accessToken Google Access Token
+     * @return 사용자 정보 (email, name, picture)
+     */
+    public CompletableFuture<GoogleUserInfo> fetchUserInfo(String accessToken) {
+        if (!bulkhead.tryAcquirePermission()) {
+            timer("rejected").record(Duration.ZERO);
+            return CompletableFuture.failedFuture(new ResponseStatusException(
+                    HttpStatus.SERVICE_UNAVAILABLE, "Google 로그인 요청이 많아 잠시 후 다시 시도해주세요."));
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.onComplete();
+            timer("short_circuited").record(Duration.ZERO);
+            return CompletableFuture.failedFuture(new ResponseStatusException(
+                    HttpStatus.SERVICE_UNAVAILABLE, "Google 로그인 서비스에 일시적으로 연결할 수 없습니다."));
+        }
+
+        HttpRequest request = HttpRequest.newBuilder(userInfoUri)
+                .timeout(requestTimeout)
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + accessToken)
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .GET()
+                .build();
+
+        long startedAt = System.nanoTime();
+        CompletableFuture<HttpResponse<byte[]>> response;
+        try {
+            response = httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(onFailure(e, System.nanoTime() - startedAt));
+        }
+        return response.handle((httpResponse, error) -> {
+            long elapsedNanos = System.nanoTime() - startedAt;
+            if (error != null) {
+                throw onFailure(error, elapsedNanos);
+            }
+            return toUserInfo(httpResponse, elapsedNanos);
+        });
+    }
+
+    /**
+     * ✅ 응답 상태 코드별 처리
+     */
+    private GoogleUserInfo toUserInfo(HttpResponse<byte[]> response, long elapsedNanos) {
+        int status = response.statusCode();
+
+        // ❌ 토큰 문제 (Google은 정상) → Circuit Breaker 성공으로 집계
+        if (status == HttpStatus.UNAUTHORIZED.value() || status == HttpStatus.FORBIDDEN.value()) {
+            onSuccess(elapsedNanos, "invalid_token");
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "유효하지 않은 Google Access Token입니다.");
+        }
+        if (status / 100 != 2) {
+            throw onFailure(new IOException("Google userinfo 응답 코드: " + status), elapsedNanos);
+        }
+
+        GoogleUserInfo userInfo;
+        try {
+            userInfo = objectMapper.readValue(response.body(), GoogleUserInfo.class);
+        } catch (IOException e) {
+            throw onFailure(e, elapsedNanos);
+        }
+
+        onSuccess(elapsedNanos, "success");
+        if (userInfo.getEmail() == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Google 사용자 정보를 가져오지 못했습니다.");
+        }
+        return userInfo;
+    }
+
+    private void onSuccess(long elapsedNanos, String outcome) {
+        bulkhead.onComplete();
+        circuitBreaker.onSuccess(elapsedNanos, TimeUnit.NANOSECONDS);
+        timer(outcome).record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * ✅ 호출 실패 처리 (Circuit Breaker 실패로 집계 후 502/504 예외로 변환)
+     */
+    private ResponseStatusException onFailure(Throwable error, long elapsedNanos) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        bulkhead.onComplete();
+        circuitBreaker.onError(elapsedNanos, TimeUnit.NANOSECONDS, cause);
+        timer("error").record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (cause instanceof HttpTimeoutException) {
+            return new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "Google 응답 시간이 초과되었습니다.", cause);
+        }
+        return new ResponseStatusException(HttpStatus.BAD_GATEWAY, "Google 사용자 정보 조회에 실패했습니다.", cause);
+    }
+
+    private Timer timer(String outcome) {
+        return Timer.builder("auth.google.userinfo")
+                .description("Google userinfo API 호출 시간")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,190 @@
+package com.example.myblog.service;
+
+import com.example.myblog.config.RefreshTokenDigester;
+import com.example.myblog.dto.SessionInfo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ✅ InMemoryRefreshTokenStore (서버 메모리 기반 로그인 세션 저장소)
+ *
+ * - subject → (세션 ID → 세션) 맵, 사용자 단위 `compute`로 비교/교체/정리를 원자적으로 처리 (조회는 잠금 없이)
+ * - 서버를 재시작하면 모든 세션이 사라지고 서버 간 공유되지 않으므로 로컬 개발/테스트/단일 인스턴스 전용
+ * - `auth.refresh-token.store=memory`일 때만 활성화
+ */
+@Component
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final ConcurrentHashMap<String, Map<String, Session>> sessionsBySubject = new ConcurrentHashMap<>();
+    private final RefreshTokenDigester digester;
+    private final int maxSessionsPerUser;
+    private final Duration reuseGrace;
+
+    /**
+     * ✅ InMemoryRefreshTokenStore 생성자
+     *
+     * @param maxSessionsPerUser 사용자당 최대 동시 로그인 세션 수
+     * @param reuseGrace 직전 토큰을 재시도로 허용하는 시간 (0이면 즉시 재사용으로 판단)
+     */
+    public InMemoryRefreshTokenStore(RefreshTokenDigester digester,
+                                     @Value("${auth.sessions.max-per-user:10}") int maxSessionsPerUser,
+                                     @Value("${auth.refresh-token.reuse-grace:10s}") Duration reuseGrace) {
+        this.digester = digester;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.reuseGrace = reuseGrace;
+    }
+
+    @Override
+    public long save(String subject, String sessionId, String refreshToken, Duration ttl, String device) {
+        Instant now = Instant.now();
+        Session session = new Session(digester.digest(refreshToken), List.of(), null, null, now, now, now.plus(ttl), RefreshTokenStore.normalizeDevice(device));
+        AtomicLong evicted = new AtomicLong();
+
+        sessionsBySubject.compute(subject, (key, sessions) -> {
+            Map<String, Session> updated = sessions != null ? sessions : new ConcurrentHashMap<>();
+            updated.values().removeIf(existing -> existing.isExpired(now));
+            updated.put(sessionId, session);
+
+            // 🔥 최대 세션 수 초과 시 만료가 가장 가까운 세션부터 제거
+            while (updated.size() > maxSessionsPerUser) {
+                updated.entrySet().stream()
+                        .min(Comparator.comparing(entry -> entry.getValue().expiresAt()))
+                        .ifPresent(oldest -> updated.remove(oldest.getKey()));
+                evicted.incrementAndGet();
+            }
+            return updated;
+        });
+        return evicted.get();
+    }
+
+    @Override
+    public RotationResult rotate(String subject, String sessionId, String presentedToken, String newToken, Duration ttl) {
+        Instant now = Instant.now();
+        byte[] presentedDigest = digester.digest(presentedToken);
+        byte[] newDigest = digester.digest(newToken);
+        AtomicReference<RotationResult> result = new AtomicReference<>(RotationResult.NOT_FOUND);
+
+        sessionsBySubject.computeIfPresent(subject, (key, sessions) -> {
+            Session session = sessions.get(sessionId);
+            if (session == null || session.isExpired(now)) {
+                return sessions;
+            }
+            if (session.isCurrent(presentedDigest)) {
+                sessions.put(sessionId, new Session(newDigest, List.of(), presentedDigest, now,
+                        session.createdAt(), now, now.plus(ttl), session.device()));
+                result.set(RotationResult.ROTATED);
+            } else if (session.isRetry(presentedDigest, now, reuseGrace)) {
+                // 🔄 유예 시간 안의 재시도 → 새 토큰을 재시도 토큰으로 추가 (현재 토큰, 직전 토큰, 회전 시각은 유지)
+                List<byte[]> retryDigests = new ArrayList<>(session.retryDigests());
+                retryDigests.add(newDigest);
+                if (retryDigests.size() > MAX_RETRY_TOKENS) {
+                    retryDigests.remove(0);
+                }
+                sessions.put(sessionId, new Session(session.digest(), List.copyOf(retryDigests), session.previousDigest(),
+                        session.rotatedAt(), session.createdAt(), now, now.plus(ttl), session.device()));
+                result.set(RotationResult.RETRIED);
+            } else {
+                sessions.remove(sessionId); // ❌ 이미 소비된 토큰 → 세션 폐기
+                result.set(RotationResult.REUSED);
+            }
+            return sessions.isEmpty() ? null : sessions;
+        });
+        return result.get();
+    }
+
+    @Override
+    public boolean matches(String subject, String sessionId, String refreshToken) {
+        Session session = liveSession(subject, sessionId);
+        return session != null && session.isCurrent(digester.digest(refreshToken));
+    }
+
+    @Override
+    public boolean exists(String subject, String sessionId) {
+        if (sessionId != null) {
+            return liveSession(subject, sessionId) != null;
+        }
+        Map<String, Session> sessions = sessionsBySubject.get(subject);
+        Instant now = Instant.now();
+        return sessions != null && sessions.values().stream().anyMatch(session -> !session.isExpired(now));
+    }
+
+    @Override
+    public List<SessionInfo> findSessions(String subject) {
+        Instant now = Instant.now();
+        List<SessionInfo> result = new ArrayList<>();
+        sessionsBySubject.computeIfPresent(subject, (key, sessions) -> {
+            sessions.values().removeIf(session -> session.isExpired(now));
+            sessions.forEach((sessionId, session) -> result.add(new SessionInfo(sessionId,
+                    session.device().isEmpty() ? null : session.device(),
+                    session.createdAt(), session.lastUsedAt(), session.expiresAt(), false)));
+            return sessions.isEmpty() ? null : sessions;
+        });
+        result.sort(Comparator.comparing(SessionInfo::getExpiresAt));
+        return result;
+    }
+
+    @Override
+    public boolean delete(String subject, String sessionId) {
+        AtomicLong deleted = new AtomicLong();
+        sessionsBySubject.computeIfPresent(subject, (key, sessions) -> {
+            if (sessions.remove(sessionId) != null) {
+                deleted.incrementAndGet();
+            }
+            return sessions.isEmpty() ? null : sessions;
+        });
+        return deleted.get() > 0;
+    }
+
+    @Override
+    public long deleteAll(String subject) {
+        Map<String, Session> removed = sessionsBySubject.remove(subject);
+        Instant now = Instant.now();
+        // 🔍 만료된 세션은 이미 없는 세션으로 취급하므로 삭제 수에서 제외
+        return removed != null ? removed.values().stream().filter(session -> !session.isExpired(now)).count() : 0;
+    }
+
+    @Override
+    public long deleteAll(Collection<String> subjects) {
+        return subjects.stream().mapToLong(this::deleteAll).sum();
+    }
+
+    private Session liveSession(String subject, String sessionId) {
+        Map<String, Session> sessions = sessionsBySubject.get(subject);
+        Session session = sessions != null ? sessions.get(sessionId) : null;
+        return session != null && !session.isExpired(Instant.now()) ? session : null;
+    }
+
+    /**
+     * ✅ 세션 (불변, 회전 시 새 객체로 교체)
+     *
+     * - retryDigests: 유예 시간 안의 재시도로 추가 발급한 토큰 (현재 토큰과 함께 인정, 다음 회전 시 비움)
+     * - previousDigest / rotatedAt: 직전 회전에서 소비된 토큰과 회전 시각 (로그인 직후에는 null)
+     */
+    private record Session(byte[] digest, List<byte[]> retryDigests, byte[] previousDigest, Instant rotatedAt,
+                           Instant createdAt, Instant lastUsedAt, Instant expiresAt, String device) {
+        boolean isExpired(Instant now) {
+            return !expiresAt.isAfter(now);
+        }
+
+        boolean isCurrent(byte[] presentedDigest) {
+            return MessageDigest.isEqual(digest, presentedDigest)
+                    || retryDigests.stream().anyMatch(retryDigest -> MessageDigest.isEqual(retryDigest, presentedDigest));
+        }
+
+        boolean isRetry(byte[] presentedDigest, Instant now, Duration grace) {
+            return previousDigest != null
+                    && MessageDigest.isEqual(previousDigest, presentedDigest)
+                    && rotatedAt.plus(grace).isAfter(now);
+        }
+    }
+}
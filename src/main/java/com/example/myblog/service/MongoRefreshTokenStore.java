@@ -0,0 +1,180 @@
+package com.example.myblog.service;
+
+import com.example.myblog.config.RefreshTokenDigester;
+import com.example.myblog.dto.SessionInfo;
+import com.example.myblog.entity.RefreshToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ✅ MongoRefreshTokenStore (MongoDB 기반 로그인 세션 저장소)
+ *
+ * - `refresh_tokens` 컬렉션에 세션당 문서 1개 (`_id`: 세션 ID, `userId`: subject)
+ * - 만료된 세션은 조회 조건(`expiryDate > now`)으로 제외되고, TTL 인덱스가 나중에 삭제
+ * - 토큰 회전은 `_id + userId + 다이제스트(현재 또는 재시도 토큰)` 조건의 findAndModify 한 번으로 비교와 교체를 원자적으로 처리
+ *   - 일치하는 문서가 없으면 직전 토큰 + 유예 시간 조건으로 새 토큰을 재시도 토큰 목록에 추가 (`$push` + `$slice`)
+ *   - 그래도 없으면 같은 세션을 삭제해 보고, 삭제되었으면 재사용으로 판단
+ * - 최대 세션 수 초과분 제거: 저장 직후 사용자의 세션 수를 세고, 넘는 만큼 만료가 가장 가까운 세션을 하나씩 findAndRemove
+ *   - 문서 하나씩 원자적으로 삭제하므로 동시에 로그인해도 같은 세션을 두 번 지우거나 방금 저장한 세션을 지우지 않음
+ *   - 저장할 때마다 다시 세므로 마지막 로그인이 끝나면 세션 수는 최대값 이하가 됨
+ *   - 단, 여러 문서에 걸친 원자성은 없어서 동시 로그인이 겹치면 최대값보다 적게 남을 수 있음 (Redis/메모리 저장소와 달리 근사치)
+ * - `auth.refresh-token.store=mongo`일 때만 활성화
+ */
+@Component
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "mongo")
+public class MongoRefreshTokenStore implements RefreshTokenStore {
+
+    private final MongoTemplate mongoTemplate;
+    private final RefreshTokenDigester digester;
+    private final int maxSessionsPerUser;
+    private final Duration reuseGrace;
+
+    /**
+     * ✅ MongoRefreshTokenStore 생성자
+     *
+     * @param maxSessionsPerUser 사용자당 최대 동시 로그인 세션 수
+     * @param reuseGrace 직전 토큰을 재시도로 허용하는 시간 (0이면 즉시 재사용으로 판단)
+     */
+    public MongoRefreshTokenStore(MongoTemplate mongoTemplate,
+                                  RefreshTokenDigester digester,
+                                  @Value("${auth.sessions.max-per-user:10}") int maxSessionsPerUser,
+                                  @Value("${auth.refresh-token.reuse-grace:10s}") Duration reuseGrace) {
+        this.mongoTemplate = mongoTemplate;
+        this.digester = digester;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.reuseGrace = reuseGrace;
+    }
+
+    @Override
+    public long save(String subject, String sessionId, String refreshToken, Duration ttl, String device) {
+        Instant now = Instant.now();
+        RefreshToken session = new RefreshToken();
+        session.setId(sessionId);
+        session.setUserId(subject);
+        session.setToken(digester.digest(refreshToken));
+        session.setCreatedAt(now);
+        session.setLastUsedAt(now);
+        session.setExpiryDate(now.plus(ttl));
+        session.setDevice(RefreshTokenStore.normalizeDevice(device));
+        mongoTemplate.save(session);
+
+        // 🔥 최대 세션 수 초과분 제거 (만료가 가장 가까운 세션부터, 방금 저장한 세션 제외)
+        long evicted = 0;
+        long excess = mongoTemplate.count(new Query(liveSessionsOf(subject, now)), RefreshToken.class) - maxSessionsPerUser;
+        Query oldest = new Query(liveSessionsOf(subject, now).and("_id").ne(sessionId))
+                .with(Sort.by(Sort.Direction.ASC, "expiryDate"));
+        while (evicted < excess && mongoTemplate.findAndRemove(oldest, RefreshToken.class) != null) {
+            evicted++;
+        }
+        return evicted;
+    }
+
+    @Override
+    public RotationResult rotate(String subject, String sessionId, String presentedToken, String newToken, Duration ttl) {
+        Instant now = Instant.now();
+        byte[] presentedDigest = digester.digest(presentedToken);
+        byte[] newDigest = digester.digest(newToken);
+
+        // 🔥 현재(또는 재시도) 토큰과 일치하면 교체 + 직전 토큰 기록 + 재시도 토큰 비움 + 만료 시간 연장 (findAndModify 한 번)
+        Query current = new Query(sessionOf(subject, sessionId, now).orOperator(
+                Criteria.where("token").is(presentedDigest), Criteria.where("retryTokens").is(presentedDigest)));
+        Update rotation = new Update()
+                .set("token", newDigest)
+                .unset("retryTokens")
+                .set("previousToken", presentedDigest)
+                .set("rotatedAt", now)
+                .set("lastUsedAt", now)
+                .set("expiryDate", now.plus(ttl));
+        if (mongoTemplate.findAndModify(current, rotation, RefreshToken.class) != null) {
+            return RotationResult.ROTATED;
+        }
+
+        // 🔄 유예 시간 안에 직전 토큰이 다시 오면 재시도로 보고 새 토큰을 재시도 토큰으로 추가 (현재 토큰, 직전 토큰, 회전 시각은 유지)
+        Query retry = new Query(sessionOf(subject, sessionId, now)
+                .and("previousToken").is(presentedDigest)
+                .and("rotatedAt").gt(now.minus(reuseGrace)));
+        Update retryRotation = new Update()
+                .set("lastUsedAt", now)
+                .set("expiryDate", now.plus(ttl));
+        retryRotation.push("retryTokens").slice(-MAX_RETRY_TOKENS).each(newDigest);
+        if (mongoTemplate.findAndModify(retry, retryRotation, RefreshToken.class) != null) {
+            return RotationResult.RETRIED;
+        }
+
+        // ❌ 세션은 살아있는데 토큰이 다르면 이미 소비된 토큰 → 세션 폐기
+        long revoked = mongoTemplate.remove(new Query(sessionOf(subject, sessionId, now)), RefreshToken.class).getDeletedCount();
+        return revoked > 0 ? RotationResult.REUSED : RotationResult.NOT_FOUND;
+    }
+
+    @Override
+    public boolean matches(String subject, String sessionId, String refreshToken) {
+        Query query = new Query(sessionOf(subject, sessionId, Instant.now()));
+        query.fields().include("token").include("retryTokens");
+        RefreshToken session = mongoTemplate.findOne(query, RefreshToken.class);
+        if (session == null) {
+            return false;
+        }
+        boolean matched = digester.matches(refreshToken, session.getToken());
+        if (session.getRetryTokens() != null) {
+            for (byte[] retryToken : session.getRetryTokens()) {
+                matched |= digester.matches(refreshToken, retryToken);
+            }
+        }
+        return matched;
+    }
+
+    @Override
+    public boolean exists(String subject, String sessionId) {
+        Instant now = Instant.now();
+        Criteria criteria = sessionId != null ? sessionOf(subject, sessionId, now) : liveSessionsOf(subject, now);
+        return mongoTemplate.exists(new Query(criteria), RefreshToken.class);
+    }
+
+    @Override
+    public List<SessionInfo> findSessions(String subject) {
+        Query query = new Query(liveSessionsOf(subject, Instant.now())).with(Sort.by(Sort.Direction.ASC, "expiryDate"));
+        query.fields().exclude("token").exclude("retryTokens").exclude("previousToken");
+        return mongoTemplate.find(query, RefreshToken.class).stream()
+                .map(session -> new SessionInfo(session.getId(),
+                        session.getDevice() == null || session.getDevice().isEmpty() ? null : session.getDevice(),
+                        session.getCreatedAt(), session.getLastUsedAt(), session.getExpiryDate(), false))
+                .toList();
+    }
+
+    @Override
+    public boolean delete(String subject, String sessionId) {
+        Query query = new Query(Criteria.where("_id").is(sessionId).and("userId").is(subject));
+        return mongoTemplate.remove(query, RefreshToken.class).getDeletedCount() > 0;
+    }
+
+    @Override
+    public long deleteAll(String subject) {
+        return mongoTemplate.remove(new Query(liveSessionsOf(subject, Instant.now())), RefreshToken.class).getDeletedCount();
+    }
+
+    // 🔍 만료된 문서는 삭제 수에 넣지 않고 남겨 둠 (TTL 인덱스가 삭제, 다른 저장소와 같은 삭제 수)
+    @Override
+    public long deleteAll(Collection<String> subjects) {
+        Query query = new Query(Criteria.where("userId").in(subjects).and("expiryDate").gt(Instant.now()));
+        return mongoTemplate.remove(query, RefreshToken.class).getDeletedCount();
+    }
+
+    private static Criteria sessionOf(String subject, String sessionId, Instant now) {
+        return Criteria.where("_id").is(sessionId).and("userId").is(subject).and("expiryDate").gt(now);
+    }
+
+    private static Criteria liveSessionsOf(String subject, Instant now) {
+        return Criteria.where("userId").is(subject).and("expiryDate").gt(now);
+    }
+}
@@ -1,39 +1,83 @@
 package com.example.myblog.service;
 
 import com.example.myblog.config.JwtUtil;
+import com.example.myblog.dto.GoogleUserInfo;
 import com.example.myblog.dto.TokenResponse;
+import com.example.myblog.dto.UserAuthView;
 import com.example.myblog.entity.User;
 import com.example.myblog.repository.UserRepository;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.oauth2.core.user.OAuth2User;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import java.util.Collections;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
-
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.ResponseEntity;
-import org.springframework.http.HttpMethod;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 @Service
 public class OAuth2UserService {
+    private static final Set<String> DEFAULT_ROLES = Set.of("ROLE_USER"); // 신규 사용자 기본 권한
+
     private final UserRepository userRepository;
+    private final UserNearCache userNearCache;
     private final JwtUtil jwtUtil;
-    private final StringRedisTemplate redisTemplate;
-    private final RestTemplate restTemplate;
+    private final RefreshTokenStore refreshTokenStore;
+    private final TokenEpochService tokenEpochService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final GoogleUserInfoClient googleUserInfoClient;
+    private final Executor taskExecutor;
+
+    // ✅ 검증된 Google Access Token(SHA-256) → 사용자 정보 캐시
+    private final AsyncCache<String, GoogleUserInfo> verifiedTokens;
 
     /**
      * ✅ OAuth2UserService 생성자
      * - 필요한 의존성을 주입받음
-     * - RestTemplate 객체 생성 (Google API 요청에 사용)
+     * - Google API 호출은 GoogleUserInfoClient(비동기, 타임아웃 + Circuit Breaker)에 위임
+     * - 응답 이후의 DB 저장/토큰 발급은 애플리케이션 작업 스레드 풀에서 실행 (HttpClient 스레드를 막지 않음)
+     * - 이미 검증한 Google Access Token은 짧은 시간 동안 캐싱하여 Google 호출과 DB 저장을 생략
+     *
+     * @param tokenCacheMaxSize 캐싱할 최대 토큰 수
+     * @param tokenCacheTtl 캐시 만료 시간 (토큰의 남은 유효 시간을 알 수 있으면 둘 중 짧은 값)
      */
-    public OAuth2UserService(UserRepository userRepository, JwtUtil jwtUtil, StringRedisTemplate redisTemplate) {
+    public OAuth2UserService(UserRepository userRepository, UserNearCache userNearCache, JwtUtil jwtUtil,
+                             RefreshTokenStore refreshTokenStore, TokenEpochService tokenEpochService,
+                             ApplicationEventPublisher eventPublisher,
+                             GoogleUserInfoClient googleUserInfoClient,
+                             @Qualifier("applicationTaskExecutor") Executor taskExecutor,
+                             MeterRegistry meterRegistry,
+                             @Value("${auth.google.token-cache.max-size:10000}") long tokenCacheMaxSize,
+                             @Value("${auth.google.token-cache.ttl:5m}") Duration tokenCacheTtl) {
         this.userRepository = userRepository;
+        this.userNearCache = userNearCache;
         this.jwtUtil = jwtUtil;
-        this.redisTemplate = redisTemplate;
-        this.restTemplate = new RestTemplate();
+        this.refreshTokenStore = refreshTokenStore;
+        this.tokenEpochService = tokenEpochService;
+        this.eventPublisher = eventPublisher;
+        this.googleUserInfoClient = googleUserInfoClient;
+        this.taskExecutor = taskExecutor;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(tokenCacheMaxSize)
+                .expireAfter(new TokenLifetimeExpiry(tokenCacheTtl))
+                .recordStats()
+                .buildAsync();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "google_tokens");
     }
 
     /**
@@ -42,95 +86,135 @@ public class OAuth2UserService {
      * - saveOrUpdateUser()를 호출하여 DB에 저장
      * - JWT 토큰을 생성하고 Redis에 저장
      */
-    public TokenResponse processOAuthUser(OAuth2User oAuth2User) {
+    public TokenResponse processOAuthUser(OAuth2User oAuth2User, String device) {
         String email = oAuth2User.getAttribute("email");
         String name = oAuth2User.getAttribute("name");
         String profileImage = oAuth2User.getAttribute("picture");
 
         // 🔥 OAuth2 사용자 저장 또는 업데이트
-        User user = saveOrUpdateUser(email, name, profileImage, "google");
+        Set<String> roles = saveOrUpdateUser(email, name, profileImage, "google");
 
         // 🔥 JWT 발급 후 Redis 저장
-        return generateAndStoreTokens(user);
+        return generateAndStoreTokens(email, roles, device);
     }
 
     /**
      * ✅ Google Access Token을 사용하여 사용자 정보를 가져오고 로그인 처리
-     * - Google API를 호출하여 사용자 정보 가져오기
-     * - saveOrUpdateUser()를 호출하여 DB에 저장
+     * - 캐시에 없는 토큰만 Google API를 비동기로 호출 (요청 스레드를 점유하지 않음)
+     *   - 같은 토큰으로 동시에 들어온 요청은 한 번만 호출하고 결과를 공유
+     *   - 실패한 호출은 캐싱되지 않음
+     * - Google 호출 후에만 saveOrUpdateUser()를 호출하여 DB에 저장 (캐시 적중 시 생략)
      * - JWT 토큰을 생성하고 Redis에 저장
      */
-    public TokenResponse loadUserFromGoogle(String googleAccessToken) {
-        // 🔍 Google API 요청을 위한 HTTP Header 설정
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("Authorization", "Bearer " + googleAccessToken);
+    public CompletableFuture<TokenResponse> loadUserFromGoogle(String googleAccessToken, String device) {
+        return verifiedTokens.get(sha256(googleAccessToken), (key, executor) -> resolveIdentity(googleAccessToken))
+                .thenApplyAsync(userInfo -> {
+                    // 🔍 역할(roles)은 사용자 캐시에서 조회 (권한 변경 시 무효화 이벤트가 반영됨)
+                    UserAuthView user = userNearCache.findByEmail(userInfo.getEmail())
+                            .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "사용자를 찾을 수 없습니다."));
+
+                    // 🔥 JWT 발급 후 Redis 저장
+                    return generateAndStoreTokens(user.getEmail(), user.getRoles(), device);
+                }, taskExecutor);
+    }
 
-        HttpEntity<String> entity = new HttpEntity<>(headers);
+    /**
+     * ✅ 캐시 미스 시 Google API 호출 + 사용자 저장
+     */
+    private CompletableFuture<GoogleUserInfo> resolveIdentity(String googleAccessToken) {
+        return googleUserInfoClient.fetchUserInfo(googleAccessToken).thenApplyAsync(userInfo -> {
+            // 🔥 OAuth2 사용자 저장 또는 업데이트
+            saveOrUpdateUser(userInfo.getEmail(), userInfo.getName(), userInfo.getPicture(), "google");
+            return userInfo;
+        }, taskExecutor);
+    }
 
-        // 🔍 Google API를 호출하여 사용자 정보를 가져옴
-        ResponseEntity<Map> response = restTemplate.exchange(
-                "https://www.googleapis.com/oauth2/v3/userinfo",
-                HttpMethod.GET,
-                entity,
-                Map.class
-        );
+    /**
+     * ✅ 사용자 정보를 저장 또는 업데이트하는 메서드
+     * - email 기준 upsert 한 번으로 처리 (조회 후 전체 문서 저장 X)
+     *   - 기존 사용자: username, profileImage만 변경 (값이 같으면 MongoDB가 쓰기를 생략)
+     *   - 신규 사용자: 기본 권한(ROLE_USER)과 함께 생성
+     * - 실제로 바뀐 경우에만 캐시된 사용자 정보 무효화 이벤트 발행
+     *
+     * @return 사용자의 역할(roles)
+     */
+    private Set<String> saveOrUpdateUser(String email, String name, String profileImage, String provider) {
+        Optional<User> previous = userRepository.upsertOAuthUser(email, name, profileImage, provider, DEFAULT_ROLES);
 
-        Map<String, Object> userInfo = response.getBody();
+        if (previous.isEmpty()) {
+            // ✅ 새로운 사용자 생성됨
+            eventPublisher.publishEvent(new UserChangedEvent(name, email));
+            return DEFAULT_ROLES;
+        }
 
-        if (userInfo == null || !userInfo.containsKey("email")) {
-            throw new RuntimeException("Google 사용자 정보를 가져오지 못했습니다.");
+        User before = previous.get();
+        if (!Objects.equals(before.getUsername(), name) || !Objects.equals(before.getProfileImage(), profileImage)) {
+            // ✅ 기존 사용자 정보 변경됨 (이전 username으로 캐시된 항목도 제거)
+            eventPublisher.publishEvent(new UserChangedEvent(before.getUsername(), name, email));
         }
+        return before.getRoles() != null ? before.getRoles() : DEFAULT_ROLES;
+    }
 
-        String email = (String) userInfo.get("email");
-        String name = (String) userInfo.get("name");
-        String profileImage = (String) userInfo.get("picture");
+    /**
+     * ✅ JWT 토큰 생성 및 Redis에 저장
+     * - Access Token 및 Refresh Token을 생성
+     * - Refresh Token을 Redis에 기기별 로그인 세션으로 저장 (다른 기기의 세션은 유지)
+     */
+    private TokenResponse generateAndStoreTokens(String email, Set<String> roles, String device) {
+        // 🔥 Access Token & Refresh Token 생성 (로그인마다 새 세션 = 새 토큰 패밀리)
+        String sessionId = JwtUtil.newTokenId();
+        String accessToken = jwtUtil.generateAccessToken(email, roles, sessionId, tokenEpochService.current(email));
+        String refreshToken = jwtUtil.generateRefreshToken(email, sessionId);
 
-        // 🔥 OAuth2 사용자 저장 또는 업데이트
-        User user = saveOrUpdateUser(email, name, profileImage, "google");
+        // 🔥 Redis에 세션 저장 (Lua 스크립트 한 번)
+        refreshTokenStore.save(email, sessionId, refreshToken, Duration.ofMillis(jwtUtil.getRefreshTokenExpiration()), device);
 
-        // 🔥 JWT 발급 후 Redis 저장
-        return generateAndStoreTokens(user);
+        return new TokenResponse(accessToken, refreshToken);
     }
 
     /**
-     * ✅ 사용자 정보를 저장 또는 업데이트하는 메서드
-     * - 기존 사용자라면 정보를 업데이트 (username, profileImage)
-     * - 신규 사용자라면 새롭게 생성하여 저장
+     * ✅ 토큰 원문 대신 SHA-256 해시를 캐시 키로 사용 (메모리 덤프 등으로 토큰이 노출되지 않도록)
      */
-    private User saveOrUpdateUser(String email, String name, String profileImage, String provider) {
-        return userRepository.findByEmail(email)
-                .map(existingUser -> {
-                    // ✅ 기존 사용자 정보 업데이트
-                    existingUser.setUsername(name);
-                    existingUser.setProfileImage(profileImage);
-                    return userRepository.save(existingUser);
-                })
-                .orElseGet(() -> {
-                    // ✅ 새로운 사용자 생성 및 저장
-                    User newUser = new User();
-                    newUser.setEmail(email);
-                    newUser.setUsername(name);
-                    newUser.setProfileImage(profileImage);
-                    newUser.setOauthProvider(provider);
-                    newUser.setRoles(Collections.singleton("ROLE_USER")); // 기본 권한 부여
-                    return userRepository.save(newUser);
-                });
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
     }
 
     /**
-     * ✅ JWT 토큰 생성 및 Redis에 저장
-     * - Access Token 및 Refresh Token을 생성
-     * - Refresh Token을 Redis에 저장하여 세션 관리
+     * ✅ 캐시 항목별 만료 시간 = min(설정 TTL, 토큰의 남은 유효 시간)
+     *
+     * - Google userinfo 응답에는 만료 정보가 없으므로 보통 설정 TTL이 적용됨
+     *   (기본 5분, Google Access Token 유효 시간 1시간보다 충분히 짧음)
+     * - 캐시 기간 동안에는 Google에서 토큰이 폐기되어도 로그인이 허용될 수 있음
      */
-    private TokenResponse generateAndStoreTokens(User user) {
-        // 🔥 Access Token & Refresh Token 생성
-        String accessToken = jwtUtil.generateAccessToken(user.getEmail(), user.getRoles());
-        String refreshToken = jwtUtil.generateRefreshToken(user.getEmail());
+    private static final class TokenLifetimeExpiry implements Expiry<String, GoogleUserInfo> {
+        private final long maxTtlNanos;
 
-        // 🔥 Redis에 Refresh Token 저장 (기존 값 덮어쓰기)
-        String redisKey = "refresh_token:" + user.getEmail();
-        redisTemplate.opsForValue().set(redisKey, refreshToken, jwtUtil.getRefreshTokenExpiration(), TimeUnit.MILLISECONDS);
+        private TokenLifetimeExpiry(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
 
-        return new TokenResponse(accessToken, refreshToken);
+        @Override
+        public long expireAfterCreate(String key, GoogleUserInfo value, long currentTime) {
+            Long expiresIn = value.getExpiresIn();
+            if (expiresIn == null) {
+                return maxTtlNanos;
+            }
+            return Math.max(0, Math.min(maxTtlNanos, Duration.ofSeconds(expiresIn).toNanos()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, GoogleUserInfo value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, GoogleUserInfo value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
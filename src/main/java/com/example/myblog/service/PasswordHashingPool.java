@@ -0,0 +1,238 @@
+package com.example.myblog.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * ✅ PasswordHashingPool (비밀번호 해싱 전용 작업 풀)
+ *
+ * - BCrypt 해싱/검증(수십~수백 ms의 CPU 작업)을 Tomcat 요청 스레드가 아닌 전용 스레드에서 실행
+ * - 스레드 수는 CPU 코어 수, 대기 큐 크기는 제한됨
+ * - 최근 해싱 시간(EWMA)으로 예상 대기 시간을 계산하여, 허용치를 넘으면 즉시 503 + Retry-After 반환
+ * - 해싱 시간, 큐 대기 시간, 거절 횟수를 집계하여 Micrometer로 노출
+ *   (`auth.password.hash`, `auth.password.queue.wait`, `auth.password.rejected`, `auth.password.queue.depth`)
+ * - 결과 전달(CompletableFuture 완료)은 해싱 스레드가 아닌 `applicationTaskExecutor`에서 수행
+ *   - 후속 단계(사용자 저장, 토큰 발급, 세션 저장 등 I/O)가 CPU 수만큼인 해싱 스레드를 붙잡지 않도록 함
+ *   - 해싱 시간(지표, EWMA)은 완료 전에 기록하므로 후속 단계의 Redis/MongoDB 지연이 섞이지 않음
+ */
+@Component
+public class PasswordHashingPool {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final Executor completionExecutor;
+    private final int threads;
+    private final long maxQueueWaitNanos;
+
+    // 🔍 지표 (해싱 횟수/시간, 큐 대기 시간, 거절 횟수)
+    private final LongAdder hashCount = new LongAdder();
+    private final LongAdder hashNanos = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final Timer hashTimer;
+    private final Timer queueWaitTimer;
+
+    // 🔍 최근 해싱 시간의 지수 이동 평균 (예상 대기 시간 계산용, 초기값 100ms)
+    private final AtomicLong averageHashNanos = new AtomicLong(TimeUnit.MILLISECONDS.toNanos(100));
+
+    /**
+     * ✅ PasswordHashingPool 생성자
+     *
+     * @param completionExecutor 해싱 결과를 전달하고 후속 단계를 실행할 Executor
+     */
+    public PasswordHashingPool(PasswordEncoder passwordEncoder,
+                               @Qualifier("applicationTaskExecutor") Executor completionExecutor,
+                               @Value("${auth.password-pool.threads:0}") int threads,
+                               @Value("${auth.password-pool.queue-capacity:0}") int queueCapacity,
+                               @Value("${auth.password-pool.max-queue-wait:2s}") Duration maxQueueWait,
+                               MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.completionExecutor = completionExecutor;
+        this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.maxQueueWaitNanos = maxQueueWait.toNanos();
+
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                this.threads, this.threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity > 0 ? queueCapacity : this.threads * 16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + sequence.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // 🔍 메트릭 등록
+        this.hashTimer = Timer.builder("auth.password.hash")
+                .description("BCrypt 해싱/검증 1회 실행 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("auth.password.queue.wait")
+                .description("해싱 작업의 큐 대기 시간")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        FunctionCounter.builder("auth.password.rejected", rejectedCount, LongAdder::sum)
+                .description("풀 포화로 거절된 해싱 요청 수")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size())
+                .description("대기 중인 해싱 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("실행 중인 해싱 작업 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * ✅ 비밀번호 검증 (BCrypt matches)
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String encodedPassword) {
+        return submit(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    /**
+     * ✅ 비밀번호 해싱 (BCrypt encode)
+     */
+    public CompletableFuture<String> encode(String rawPassword) {
+        return submit(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    /**
+     * ✅ 저장된 해시의 강도가 현재 설정보다 낮아 재해싱이 필요한지 확인 (해시 계산 없음)
+     */
+    public boolean needsUpgrade(String encodedPassword) {
+        return passwordEncoder.upgradeEncoding(encodedPassword);
+    }
+
+    /**
+     * ✅ 해싱 작업 제출
+     *
+     * - 예상 대기 시간이 허용치를 넘거나 큐가 가득 차면 즉시 실패 (503 + Retry-After)
+     * - 반환된 future의 후속 단계는 해싱 스레드가 아닌 완료용 Executor에서 실행됨
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        long estimatedWaitNanos = estimateQueueWaitNanos();
+        if (estimatedWaitNanos > maxQueueWaitNanos) {
+            return reject(estimatedWaitNanos);
+        }
+
+        CompletableFuture<T> future = new CompletableFuture<>();
+        long enqueuedAt = System.nanoTime();
+        try {
+            executor.execute(() -> {
+                long startedAt = System.nanoTime();
+                queueWaitNanos.add(startedAt - enqueuedAt);
+                queueWaitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+                Runnable completion;
+                try {
+                    T result = task.get();
+                    completion = () -> future.complete(result);
+                } catch (Throwable e) {
+                    completion = () -> future.completeExceptionally(e);
+                }
+                recordHash(System.nanoTime() - startedAt); // 🔍 후속 단계 실행 전에 해싱 시간만 기록
+                completeOffPool(completion);
+            });
+        } catch (RejectedExecutionException e) {
+            return reject(estimatedWaitNanos);
+        }
+        return future;
+    }
+
+    /**
+     * ✅ 해싱 스레드 밖에서 future 완료 (완료용 Executor가 거절하면 어쩔 수 없이 현재 스레드에서 완료)
+     */
+    private void completeOffPool(Runnable completion) {
+        try {
+            completionExecutor.execute(completion);
+        } catch (RejectedExecutionException e) {
+            completion.run();
+        }
+    }
+
+    /**
+     * ✅ 현재 큐 길이 기준 예상 대기 시간 = (대기 작업 수 + 1) × 평균 해싱 시간 ÷ 스레드 수
+     */
+    private long estimateQueueWaitNanos() {
+        return (executor.getQueue().size() + 1) * averageHashNanos.get() / threads;
+    }
+
+    private void recordHash(long elapsedNanos) {
+        hashCount.increment();
+        hashNanos.add(elapsedNanos);
+        hashTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        averageHashNanos.updateAndGet(previous -> previous + (elapsedNanos - previous) / 8); // EWMA (α = 1/8)
+    }
+
+    private <T> CompletableFuture<T> reject(long estimatedWaitNanos) {
+        rejectedCount.increment();
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(estimatedWaitNanos) + 1);
+        return CompletableFuture.failedFuture(new PoolSaturatedException(retryAfterSeconds));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // 🔍 지표 조회용 getter
+    public long getHashCount() {
+        return hashCount.sum();
+    }
+
+    public long getHashNanos() {
+        return hashNanos.sum();
+    }
+
+    public long getQueueWaitNanos() {
+        return queueWaitNanos.sum();
+    }
+
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * ✅ 해싱 풀 포화 예외 (503 Service Unavailable + Retry-After 헤더)
+     */
+    public static class PoolSaturatedException extends ResponseStatusException {
+        private final long retryAfterSeconds;
+
+        public PoolSaturatedException(long retryAfterSeconds) {
+            super(HttpStatus.SERVICE_UNAVAILABLE, "요청이 많아 잠시 후 다시 시도해주세요.");
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+            return headers;
+        }
+    }
+}
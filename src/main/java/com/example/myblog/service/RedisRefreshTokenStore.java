@@ -0,0 +1,332 @@
+package com.example.myblog.service;
+
+import com.example.myblog.config.RefreshTokenDigester;
+import com.example.myblog.dto.SessionInfo;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+
+/**
+ * ✅ RedisRefreshTokenStore (Redis 기반 로그인 세션 저장소, 기본값)
+ *
+ * - Redis Key (subject: 일반 로그인은 username, 소셜 로그인은 email)
+ *   - `sessions:{subject}`: 세션 인덱스 (Sorted Set, member: 세션 ID, score: 만료 시각 ms)
+ *   - `session_data:{subject}`: 사용자의 모든 세션 정보 Hash (field: `{세션 ID}:{token|retry|prev|rotated_at|created_at|last_used_at|device}`)
+ *     (retry: 유예 시간 안의 재시도로 추가 발급한 토큰 다이제스트를 이어 붙인 값, 다이제스트 길이가 같으므로 고정 폭으로 나눠 비교)
+ *     (prev / rotated_at: 직전 회전에서 소비된 토큰과 회전 시각, 재시도 유예 판단용)
+ *   - token 필드에는 Refresh Token 원문 대신 HMAC 다이제스트(`RefreshTokenDigester`)만 저장
+ *   - 세션 만료는 인덱스의 score로 판단 (Hash 필드에는 TTL이 없으므로 만료된 세션의 필드는 저장/목록 조회 시 함께 정리)
+ * - 모든 Lua 스크립트는 사용자당 두 키(인덱스, 정보 Hash)만 다루고 두 키를 모두 KEYS로 전달
+ *   - `{subject}` 해시 태그로 두 키가 Redis Cluster에서도 같은 슬롯에 놓임 (ARGV로 키 이름을 만들지 않음)
+ * - 저장: 만료 세션 정리 + 세션 추가(O(log n)) + 사용자당 최대 세션 수 초과분 제거를 Lua 스크립트 한 번으로 처리
+ * - 토큰 회전(비교 + 교체 + 재사용 감지)은 해당 세션의 필드만 다루므로 사용자의 세션 수와 관계없이 Redis 왕복 1회
+ *   (다이제스트 비교를 Lua에서 하므로 왕복이 늘지 않음, 키가 있는 HMAC이라 비교 시간으로 새는 정보가 없음)
+ * - 여러 사용자의 세션 삭제는 Lettuce 파이프라인으로 한 번에 전송
+ */
+@Component
+@ConditionalOnProperty(name = "auth.refresh-token.store", havingValue = "redis", matchIfMissing = true)
+public class RedisRefreshTokenStore implements RefreshTokenStore {
+
+    private static final String INDEX_PREFIX = "sessions:";
+    private static final String DATA_PREFIX = "session_data:";
+
+    // 🔍 세션 하나의 필드 삭제 (모든 스크립트에서 공통으로 사용)
+    private static final String DROP_FUNCTION = """
+            local function drop(sid)
+              redis.call('HDEL', KEYS[2], sid .. ':token', sid .. ':retry', sid .. ':prev', sid .. ':rotated_at',
+                sid .. ':created_at', sid .. ':last_used_at', sid .. ':device')
+            end
+            """;
+
+    // 🔍 이어 붙인 재시도 토큰 다이제스트 중 일치하는 것이 있는지 확인 (다이제스트 길이 단위로 비교)
+    private static final String HOLDS_FUNCTION = """
+            local function holds(list, digest)
+              if not list then
+                return false
+              end
+              for i = 1, #list, #digest do
+                if string.sub(list, i, i + #digest - 1) == digest then
+                  return true
+                end
+              end
+              return false
+            end
+            """;
+
+    // 🔥 세션 추가: 만료된 세션 정리 → 세션 필드 저장 → 인덱스 추가 → 최대 세션 수 초과 시 만료가 가장 가까운(오래 사용하지 않은) 세션부터 제거
+    private static final RedisScript<Long> SAVE_SCRIPT = RedisScript.of(DROP_FUNCTION + """
+            local sid = ARGV[1]
+            local now = tonumber(ARGV[3])
+            local ttl = tonumber(ARGV[4])
+            for _, expired in ipairs(redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', now)) do
+              drop(expired)
+            end
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', now)
+            drop(sid)
+            redis.call('HSET', KEYS[2], sid .. ':token', ARGV[2], sid .. ':created_at', ARGV[3],
+              sid .. ':last_used_at', ARGV[3], sid .. ':device', ARGV[5])
+            redis.call('ZADD', KEYS[1], now + ttl, sid)
+            local evicted = 0
+            local excess = redis.call('ZCARD', KEYS[1]) - tonumber(ARGV[6])
+            if excess > 0 then
+              for _, oldest in ipairs(redis.call('ZRANGE', KEYS[1], 0, excess - 1)) do
+                drop(oldest)
+              end
+              redis.call('ZREMRANGEBYRANK', KEYS[1], 0, excess - 1)
+              evicted = excess
+            end
+            redis.call('PEXPIRE', KEYS[1], ttl)
+            redis.call('PEXPIRE', KEYS[2], ttl)
+            return evicted
+            """, Long.class);
+
+    // 🔥 토큰 회전: 제시된 토큰이 현재(또는 재시도) 토큰이면 새 토큰으로 교체하고 소비된 토큰을 prev로 기록, 재시도 토큰은 비움 (1)
+    //    직전 토큰이 유예 시간 안에 다시 오면 재시도로 보고 새 토큰을 retry에 추가, 현재 토큰과 prev / rotated_at은 유지 (2)
+    //    그 외 같은 세션의 이전(이미 소비된) 토큰이면 재사용으로 보고 세션 전체 삭제 (-1)
+    //    세션이 없거나 만료되었으면 아무것도 하지 않음 (0)
+    private static final RedisScript<Long> ROTATE_SCRIPT = RedisScript.of(DROP_FUNCTION + HOLDS_FUNCTION + """
+            local sid = ARGV[1]
+            local now = tonumber(ARGV[4])
+            local ttl = tonumber(ARGV[5])
+            local expiresAt = redis.call('ZSCORE', KEYS[1], sid)
+            local fields = redis.call('HMGET', KEYS[2], sid .. ':token', sid .. ':retry', sid .. ':prev', sid .. ':rotated_at')
+            if not expiresAt or tonumber(expiresAt) <= now or not fields[1] then
+              return 0
+            end
+            local result = 1
+            if fields[1] == ARGV[2] or holds(fields[2], ARGV[2]) then
+              redis.call('HSET', KEYS[2], sid .. ':token', ARGV[3], sid .. ':prev', ARGV[2], sid .. ':rotated_at', ARGV[4])
+              redis.call('HDEL', KEYS[2], sid .. ':retry')
+            elseif fields[3] == ARGV[2] and now - tonumber(fields[4]) < tonumber(ARGV[6]) then
+              local retry = (fields[2] or '') .. ARGV[3]
+              local limit = #ARGV[3] * tonumber(ARGV[7])
+              if #retry > limit then
+                retry = string.sub(retry, #retry - limit + 1)
+              end
+              redis.call('HSET', KEYS[2], sid .. ':retry', retry)
+              result = 2
+            else
+              drop(sid)
+              redis.call('ZREM', KEYS[1], sid)
+              return -1
+            end
+            redis.call('HSET', KEYS[2], sid .. ':last_used_at', ARGV[4])
+            redis.call('ZADD', KEYS[1], now + ttl, sid)
+            redis.call('PEXPIRE', KEYS[1], ttl)
+            redis.call('PEXPIRE', KEYS[2], ttl)
+            return result
+            """, Long.class);
+
+    // 🔥 현재 토큰 다이제스트 + 재시도 토큰 다이제스트를 이어 붙여 조회 (만료된 세션이면 nil)
+    private static final RedisScript<byte[]> TOKEN_SCRIPT = RedisScript.of("""
+            local expiresAt = redis.call('ZSCORE', KEYS[1], ARGV[1])
+            if not expiresAt or tonumber(expiresAt) <= tonumber(ARGV[2]) then
+              return false
+            end
+            local fields = redis.call('HMGET', KEYS[2], ARGV[1] .. ':token', ARGV[1] .. ':retry')
+            if not fields[1] then
+              return false
+            end
+            return fields[1] .. (fields[2] or '')
+            """, byte[].class);
+
+    // 🔥 세션 1개 삭제 (정보 필드 + 인덱스)
+    private static final RedisScript<Long> REVOKE_SCRIPT = RedisScript.of(DROP_FUNCTION + """
+            drop(ARGV[1])
+            return redis.call('ZREM', KEYS[1], ARGV[1])
+            """, Long.class);
+
+    // 🔥 사용자의 모든 세션 삭제 (만료되지 않은 세션 수 반환)
+    private static final String REVOKE_ALL_SCRIPT_SOURCE = """
+            local removed = redis.call('ZCOUNT', KEYS[1], '(' .. ARGV[1], '+inf')
+            redis.call('DEL', KEYS[1], KEYS[2])
+            return removed
+            """;
+
+    // 🔥 만료된 세션 정리 후 남은 세션 목록 반환 (평탄화: [세션 ID, 만료 시각, 생성 시각, 마지막 사용 시각, 기기] × n)
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> LIST_SCRIPT = RedisScript.of(DROP_FUNCTION + """
+            for _, expired in ipairs(redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1])) do
+              drop(expired)
+            end
+            redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', ARGV[1])
+            local entries = redis.call('ZRANGE', KEYS[1], 0, -1, 'WITHSCORES')
+            local result = {}
+            for i = 1, #entries, 2 do
+              local sid = entries[i]
+              local fields = redis.call('HMGET', KEYS[2], sid .. ':created_at', sid .. ':last_used_at', sid .. ':device')
+              table.insert(result, sid)
+              table.insert(result, entries[i + 1])
+              for j = 1, 3 do
+                table.insert(result, fields[j] or '')
+              end
+            end
+            return result
+            """, List.class);
+
+    private static final RedisScript<Long> REVOKE_ALL_SCRIPT = RedisScript.of(REVOKE_ALL_SCRIPT_SOURCE, Long.class);
+
+    // 🔥 스크립트 인자/결과 직렬화: 다이제스트(byte[])는 그대로, 나머지 인자는 UTF-8 문자열, 결과는 원본 바이트 그대로
+    private static final RedisSerializer<Object> BINARY_SAFE_SERIALIZER = new RedisSerializer<>() {
+        @Override
+        public byte[] serialize(Object value) {
+            return value instanceof byte[] bytes ? bytes : value.toString().getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public Object deserialize(byte[] bytes) {
+            return bytes;
+        }
+    };
+    private static final RedisSerializer<Long> LONG_SERIALIZER = new GenericToStringSerializer<>(Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RefreshTokenDigester digester;
+    private final int maxSessionsPerUser;
+    private final Duration reuseGrace;
+
+    /**
+     * ✅ RedisRefreshTokenStore 생성자
+     *
+     * @param digester Refresh Token 다이제스트 생성기 (원문 대신 저장)
+     * @param maxSessionsPerUser 사용자당 최대 동시 로그인 세션 수 (초과 시 가장 오래 사용하지 않은 세션부터 로그아웃)
+     * @param reuseGrace 직전 토큰을 재시도로 허용하는 시간 (0이면 즉시 재사용으로 판단)
+     */
+    public RedisRefreshTokenStore(StringRedisTemplate redisTemplate,
+                                  RefreshTokenDigester digester,
+                                  @Value("${auth.sessions.max-per-user:10}") int maxSessionsPerUser,
+                                  @Value("${auth.refresh-token.reuse-grace:10s}") Duration reuseGrace) {
+        this.redisTemplate = redisTemplate;
+        this.digester = digester;
+        this.maxSessionsPerUser = maxSessionsPerUser;
+        this.reuseGrace = reuseGrace;
+    }
+
+    @Override
+    public long save(String subject, String sessionId, String refreshToken, Duration ttl, String device) {
+        Long evicted = redisTemplate.execute(SAVE_SCRIPT, BINARY_SAFE_SERIALIZER, LONG_SERIALIZER, keysOf(subject),
+                sessionId, digester.digest(refreshToken), Long.toString(System.currentTimeMillis()), Long.toString(ttl.toMillis()),
+                RefreshTokenStore.normalizeDevice(device), Integer.toString(maxSessionsPerUser));
+        return evicted != null ? evicted : 0L;
+    }
+
+    // 🔥 비교 + 교체 + 재사용 감지를 Lua 스크립트 한 번으로 처리
+    @Override
+    public RotationResult rotate(String subject, String sessionId, String presentedToken, String newToken, Duration ttl) {
+        Long result = redisTemplate.execute(ROTATE_SCRIPT, BINARY_SAFE_SERIALIZER, LONG_SERIALIZER, keysOf(subject),
+                sessionId, digester.digest(presentedToken), digester.digest(newToken), Long.toString(System.currentTimeMillis()), Long.toString(ttl.toMillis()),
+                Long.toString(reuseGrace.toMillis()), Integer.toString(MAX_RETRY_TOKENS));
+        if (result == null || result == 0L) {
+            return RotationResult.NOT_FOUND;
+        }
+        if (result == 2L) {
+            return RotationResult.RETRIED;
+        }
+        return result > 0 ? RotationResult.ROTATED : RotationResult.REUSED;
+    }
+
+    // 🔍 저장된 다이제스트(byte[])를 그대로 읽어 다이제스트 길이 단위로 상수 시간 비교
+    @Override
+    public boolean matches(String subject, String sessionId, String refreshToken) {
+        byte[] storedDigests = redisTemplate.execute(TOKEN_SCRIPT, BINARY_SAFE_SERIALIZER, RedisSerializer.byteArray(), keysOf(subject),
+                sessionId, Long.toString(System.currentTimeMillis()));
+        if (storedDigests == null) {
+            return false;
+        }
+        byte[] digest = digester.digest(refreshToken);
+        boolean matched = false;
+        for (int from = 0; from + digest.length <= storedDigests.length; from += digest.length) {
+            matched |= MessageDigest.isEqual(digest, Arrays.copyOfRange(storedDigests, from, from + digest.length));
+        }
+        return matched;
+    }
+
+    // 🔍 인덱스의 만료 시각만 확인 (명령 1회)
+    @Override
+    public boolean exists(String subject, String sessionId) {
+        long now = System.currentTimeMillis();
+        if (sessionId == null) {
+            Long live = redisTemplate.opsForZSet().count(indexKeyOf(subject), Math.nextUp((double) now), Double.POSITIVE_INFINITY);
+            return live != null && live > 0;
+        }
+        Double expiresAt = redisTemplate.opsForZSet().score(indexKeyOf(subject), sessionId);
+        return expiresAt != null && expiresAt > now;
+    }
+
+    // 🔍 만료된 세션은 Lua 스크립트에서 정리 후 제외
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<SessionInfo> findSessions(String subject) {
+        List<String> flat = redisTemplate.execute(LIST_SCRIPT, keysOf(subject), Long.toString(System.currentTimeMillis()));
+        if (flat == null) {
+            return List.of();
+        }
+
+        List<SessionInfo> sessions = new ArrayList<>(flat.size() / 5);
+        for (int i = 0; i + 4 < flat.size(); i += 5) {
+            sessions.add(new SessionInfo(
+                    flat.get(i),
+                    flat.get(i + 4).isEmpty() ? null : flat.get(i + 4),
+                    toInstant(flat.get(i + 2)),
+                    toInstant(flat.get(i + 3)),
+                    toInstant(flat.get(i + 1)),
+                    false));
+        }
+        return sessions;
+    }
+
+    @Override
+    public boolean delete(String subject, String sessionId) {
+        Long deleted = redisTemplate.execute(REVOKE_SCRIPT, keysOf(subject), sessionId);
+        return deleted != null && deleted > 0;
+    }
+
+    @Override
+    public long deleteAll(String subject) {
+        Long deleted = redisTemplate.execute(REVOKE_ALL_SCRIPT, keysOf(subject), Long.toString(System.currentTimeMillis()));
+        return deleted != null ? deleted : 0L;
+    }
+
+    // 🔥 사용자별 Lua 스크립트를 파이프라인으로 보내므로 Redis Cluster에서도 동작 (사용자 단위로 같은 슬롯)
+    @Override
+    public long deleteAll(Collection<String> subjects) {
+        String now = Long.toString(System.currentTimeMillis());
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            subjects.forEach(subject -> stringConnection.eval(REVOKE_ALL_SCRIPT_SOURCE, ReturnType.INTEGER, 2,
+                    indexKeyOf(subject), dataKeyOf(subject), now));
+            return null;
+        });
+        return results.stream().mapToLong(result -> result instanceof Long deleted ? deleted : 0L).sum();
+    }
+
+    // 🔍 스크립트 KEYS: [인덱스, 정보 Hash] (같은 해시 태그 → 같은 슬롯)
+    private static List<String> keysOf(String subject) {
+        return List.of(indexKeyOf(subject), dataKeyOf(subject));
+    }
+
+    private static String indexKeyOf(String subject) {
+        return INDEX_PREFIX + "{" + subject + "}";
+    }
+
+    private static String dataKeyOf(String subject) {
+        return DATA_PREFIX + "{" + subject + "}";
+    }
+
+    private static Instant toInstant(String epochMillis) {
+        return epochMillis.isEmpty() ? null : Instant.ofEpochMilli((long) Double.parseDouble(epochMillis));
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.myblog.service;
+
+import com.example.myblog.dto.SessionInfo;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * ✅ RefreshTokenStore (로그인 세션 / Refresh Token 저장소)
+ *
+ * - 로그인 1회 = 세션 1개 (세션 ID = Refresh Token 패밀리 ID), 사용자당 여러 기기 동시 로그인 가능
+ * - Refresh Token 원문 대신 다이제스트(`RefreshTokenDigester`)만 저장
+ * - 모든 구현체가 같은 규칙을 따름
+ *   - 저장: 만료된 세션 정리 + 사용자당 최대 세션 수 초과 시 만료가 가장 가까운 세션부터 제거
+ *   - 회전: 현재 토큰이면 교체 후 만료 시간 연장, 이미 소비된 토큰이면 세션 전체 폐기
+ *   - 재시도 유예: 직전 회전에서 소비된 토큰이 유예 시간(`auth.refresh-token.reuse-grace`) 안에 다시 오면
+ *     재사용이 아니라 재시도(응답 유실, 여러 탭의 동시 갱신)로 보고 새 토큰을 추가로 발급 (세션 유지)
+ *     - 먼저 회전에 성공한 요청의 토큰도 그대로 유효 (현재 토큰 + 재시도 토큰 최대 `MAX_RETRY_TOKENS`개를 함께 인정)
+ *     - 이 중 하나로 다음 회전이 일어나면 나머지는 소비된 토큰이 됨 (이후 다시 오면 재사용으로 판단)
+ *     - 유예 시간 안에는 탈취한 직전 토큰으로도 갱신할 수 있으므로 짧게 유지 (기본 10초, 0이면 사용 안 함)
+ *     - 유예 시간이 늘어나지 않도록 재시도 시에는 직전 토큰과 회전 시각을 그대로 둠
+ *   - 만료: 마지막 회전(또는 로그인) 시점 + TTL
+ * - 구현체는 `auth.refresh-token.store` 설정으로 선택 (redis(기본) / mongo / memory)
+ */
+public interface RefreshTokenStore {
+
+    int MAX_DEVICE_LENGTH = 200;
+
+    // ✅ 한 회전에 대해 함께 인정하는 재시도 토큰 수 (넘으면 가장 먼저 발급한 재시도 토큰부터 무효)
+    int MAX_RETRY_TOKENS = 4;
+
+    /**
+     * ✅ 새 세션 저장 (로그인 시 호출)
+     *
+     * @param subject 토큰 subject (일반 로그인: username, 소셜 로그인: email)
+     * @param sessionId 세션 ID (Refresh Token 패밀리 ID)
+     * @param device 기기 정보 (User-Agent, 없으면 null)
+     * @return 최대 세션 수를 넘어 제거된 세션 수
+     */
+    long save(String subject, String sessionId, String refreshToken, Duration ttl, String device);
+
+    /**
+     * ✅ Refresh Token 회전 (비교 + 교체를 원자적으로 수행)
+     *
+     * @param presentedToken 클라이언트가 제시한 Refresh Token
+     * @param newToken 같은 세션으로 새로 발급한 Refresh Token
+     * @return ROTATED: 교체 성공 / RETRIED: 유예 시간 안의 재시도 → 새 토큰 추가 / REUSED: 소비된 토큰 재사용 감지 → 세션 폐기 / NOT_FOUND: 세션 없음
+     */
+    RotationResult rotate(String subject, String sessionId, String presentedToken, String newToken, Duration ttl);
+
+    /**
+     * ✅ Refresh Token이 세션의 현재 토큰(또는 유예 시간 안에 발급한 재시도 토큰)인지 확인 (상수 시간 비교, 세션은 변경하지 않음)
+     */
+    boolean matches(String subject, String sessionId, String refreshToken);
+
+    /**
+     * ✅ 세션 존재 여부 (로그아웃 여부 확인용)
+     *
+     * @param sessionId 세션 ID (null이면 사용자의 세션이 하나라도 남아있는지 확인)
+     */
+    boolean exists(String subject, String sessionId);
+
+    /**
+     * ✅ 사용자의 로그인 세션 목록 (만료 시각 순, 만료된 세션 제외)
+     */
+    List<SessionInfo> findSessions(String subject);
+
+    /**
+     * ✅ 세션 1개 삭제 (해당 기기만 로그아웃)
+     *
+     * @return 삭제된 세션이 있으면 true
+     */
+    boolean delete(String subject, String sessionId);
+
+    /**
+     * ✅ 사용자의 모든 세션 삭제 (모든 기기에서 로그아웃)
+     *
+     * @return 삭제된 세션 수 (만료된 세션 제외)
+     */
+    long deleteAll(String subject);
+
+    /**
+     * ✅ 여러 사용자의 모든 세션 삭제
+     *
+     * @return 삭제된 세션 수 (만료된 세션 제외)
+     */
+    long deleteAll(Collection<String> subjects);
+
+    /**
+     * ✅ 기기 정보 정규화 (없으면 빈 문자열, 너무 길면 자름)
+     */
+    static String normalizeDevice(String device) {
+        if (device == null) {
+            return "";
+        }
+        return device.length() > MAX_DEVICE_LENGTH ? device.substring(0, MAX_DEVICE_LENGTH) : device;
+    }
+
+    /**
+     * ✅ 토큰 회전 결과
+     */
+    enum RotationResult {
+        ROTATED,    // 새 토큰으로 교체됨
+        RETRIED,    // 직전 토큰이 유예 시간 안에 다시 사용됨 (재시도로 보고 새 토큰 추가, 현재 토큰도 유지)
+        REUSED,     // 이미 소비된 토큰이 다시 사용됨 (세션 폐기)
+        NOT_FOUND   // 세션이 없거나 만료됨
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.myblog.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ✅ TokenEpochService (사용자별 토큰 세대 번호)
+ *
+ * - 사용자마다 정수 세대 번호(epoch)를 두고, Access Token 발급 시 `ver` 클레임으로 포함
+ * - "모든 기기에서 로그아웃"하면 세대 번호를 1 올림 → 그 전에 발급된 모든 Access Token의 `ver`가 낮아져 거부됨
+ *   - 토큰마다 폐기 기록을 남기지 않고 요청마다 정수 비교 한 번으로 확인
+ * - 원본: Redis String (`token_epoch:{subject}`, 한 번도 올리지 않은 사용자는 키 없음 = 0)
+ *   - 값이 줄어들면 이미 폐기한 토큰이 되살아나므로 만료 시간을 두지 않음
+ * - 로컬: Caffeine 캐시 (요청 경로와 토큰 발급 모두 캐시만 조회, 미스일 때만 Redis GET)
+ *   - 다른 서버의 변경은 Redis Pub/Sub으로 즉시 반영하고, 메시지 유실에 대비해 주기적으로 Redis 값과 맞춤
+ *   - 값은 항상 큰 쪽으로만 갱신 (늦게 도착한 메시지가 최신 값을 덮어쓰지 않도록)
+ *   - 발급 시 아직 전파되지 않은 낮은 값을 쓰더라도 토큰이 더 일찍 거부될 뿐 권한이 넓어지지는 않음
+ * - Redis 장애
+ *   - 캐시에 있는 사용자는 마지막으로 알던 값을 계속 사용 (동기화 실패로 캐시를 비우지 않음)
+ *   - 캐시에 없는 사용자의 토큰은 기본적으로 거부 (fail-closed), `jwt.token-epoch.fail-open=true`면 허용
+ *     (허용하면 장애 동안 "모든 기기에서 로그아웃" 이전 토큰이 다시 통과할 수 있음)
+ *   - 판단할 수 없었던 횟수는 `auth.jwt.token_epoch.unavailable{decision}` 메트릭으로 기록
+ */
+@Component
+public class TokenEpochService implements MessageListener {
+    private static final Logger logger = LoggerFactory.getLogger(TokenEpochService.class);
+
+    private static final String KEY_PREFIX = "token_epoch:";
+    private static final String CHANNEL = "token_epoch:channel";
+    private static final int REFRESH_BATCH_SIZE = 500;
+
+    // 🔥 세대 번호 증가 + 다른 서버에 전파 (메시지: "{epoch} {subject}")
+    private static final RedisScript<Long> BUMP_SCRIPT = RedisScript.of("""
+            local epoch = redis.call('INCR', KEYS[1])
+            redis.call('PUBLISH', ARGV[1], epoch .. ' ' .. ARGV[2])
+            return epoch
+            """, Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final Cache<String, Long> localEpochs;
+    private final boolean failOpen;
+    private final Counter unavailableCounter;
+
+    /**
+     * ✅ TokenEpochService 생성자
+     *
+     * @param failOpen Redis 장애로 세대 번호를 알 수 없을 때 토큰을 허용할지 여부 (기본 false = 거부)
+     */
+    public TokenEpochService(StringRedisTemplate redisTemplate,
+                             RedisMessageListenerContainer listenerContainer,
+                             @Value("${jwt.token-epoch.local-max-size:100000}") long localMaxSize,
+                             @Value("${jwt.token-epoch.local-ttl:30m}") Duration localTtl,
+                             @Value("${jwt.token-epoch.fail-open:false}") boolean failOpen,
+                             MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.failOpen = failOpen;
+        this.unavailableCounter = Counter.builder("auth.jwt.token_epoch.unavailable")
+                .description("Redis 장애로 세대 번호를 확인하지 못한 토큰 수")
+                .tag("decision", failOpen ? "accept" : "reject")
+                .register(meterRegistry);
+        this.localEpochs = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterAccess(localTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localEpochs, "token_epoch_cache");
+
+        // 🔥 다른 서버의 세대 번호 변경 구독
+        listenerContainer.addMessageListener(this, new ChannelTopic(CHANNEL));
+    }
+
+    /**
+     * ✅ 현재 세대 번호 (토큰 발급 시 `ver` 값 - 로컬 캐시 우선)
+     *
+     * - 캐시 미스일 때만 Redis GET 한 번 (Refresh Token 회전 경로에 Redis 왕복을 더하지 않음)
+     *
+     * @throws DataAccessException 캐시에 없고 Redis도 조회할 수 없는 경우
+     */
+    public long current(String subject) {
+        Long cached = localEpochs.getIfPresent(subject);
+        if (cached != null) {
+            return cached;
+        }
+        return remember(subject, parse(redisTemplate.opsForValue().get(KEY_PREFIX + subject)));
+    }
+
+    /**
+     * ✅ 토큰의 세대 번호가 현재보다 낮은지 확인 (요청마다 호출)
+     *
+     * - 세대 번호를 알 수 없으면 설정(`fail-open`)에 따라 거부(기본) 또는 허용
+     */
+    public boolean isRevoked(String subject, long tokenVersion) {
+        try {
+            return tokenVersion < current(subject);
+        } catch (DataAccessException e) {
+            unavailableCounter.increment();
+            logger.warn("⚠️ 토큰 세대 번호 조회 실패 ({}) - {}", failOpen ? "허용" : "거부", e.getMessage());
+            return !failOpen;
+        }
+    }
+
+    /**
+     * ✅ 세대 번호 증가 ("모든 기기에서 로그아웃")
+     *
+     * @return 증가된 세대 번호 (이후 발급되는 토큰의 `ver`)
+     */
+    public long bump(String subject) {
+        Long epoch = redisTemplate.execute(BUMP_SCRIPT, List.of(KEY_PREFIX + subject), CHANNEL, subject);
+        return remember(subject, epoch != null ? epoch : 0);
+    }
+
+    /**
+     * ✅ 다른 서버에서 보낸 세대 번호 변경 수신
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] parts = new String(message.getBody(), StandardCharsets.UTF_8).split(" ", 2);
+        if (parts.length == 2) {
+            remember(parts[1], parse(parts[0]));
+        }
+    }
+
+    /**
+     * ✅ 로컬 캐시를 Redis 값과 주기적으로 맞춤 (Pub/Sub 메시지 유실 대비)
+     *
+     * - 캐시에 있는 사용자만 나누어 조회
+     * - 키마다 GET을 파이프라인으로 보냄 (사용자 키는 클러스터의 여러 슬롯에 흩어지므로 MGET은 CROSSSLOT 오류)
+     */
+    @Scheduled(fixedDelayString = "${jwt.token-epoch.refresh-interval:30s}")
+    public void refreshLocal() {
+        List<String> subjects = new ArrayList<>(localEpochs.asMap().keySet());
+        try {
+            for (int from = 0; from < subjects.size(); from += REFRESH_BATCH_SIZE) {
+                List<String> batch = subjects.subList(from, Math.min(from + REFRESH_BATCH_SIZE, subjects.size()));
+                List<Object> values = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                    batch.forEach(subject -> stringConnection.get(KEY_PREFIX + subject));
+                    return null;
+                });
+                for (int i = 0; i < batch.size(); i++) {
+                    remember(batch.get(i), parse((String) values.get(i)));
+                }
+            }
+        } catch (DataAccessException e) {
+            logger.warn("⚠️ 토큰 세대 번호 동기화 실패 - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ 로컬 캐시 갱신 (더 큰 값만 반영)
+     */
+    private long remember(String subject, long epoch) {
+        return localEpochs.asMap().merge(subject, epoch, Math::max);
+    }
+
+    private static long parse(String value) {
+        return value != null ? Long.parseLong(value) : 0;
+    }
+}
@@ -0,0 +1,221 @@
+package com.example.myblog.service;
+
+import com.example.myblog.config.JwtSigningKeys;
+import com.example.myblog.config.JwtUtil;
+import com.example.myblog.config.TokenRevocationCheck;
+import com.example.myblog.config.VerifiedClaims;
+import com.example.myblog.dto.IntrospectionResponse;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.JwtException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * ✅ TokenIntrospectionService (토큰 검사, RFC 7662)
+ *
+ * - 다른 서비스(API Gateway 등)가 토큰을 직접 검증하지 않고 이 서버에 유효 여부와 클레임을 물어볼 때 사용
+ * - 토큰당 서명 검증 1회 + 등록된 폐기 확인(`TokenRevocationCheck`) 수행, MongoDB 조회 없음
+ * - 일괄 검사
+ *   - 토큰 수가 `parallel-threshold` 이상이면 같은 크기로 나누어 `applicationTaskExecutor`에서 병렬 검증
+ *   - 첫 묶음은 요청 스레드에서 직접 처리
+ * - 결과 캐시
+ *   - 키: 토큰 원문 대신 SHA-256 해시 (메모리 덤프 등으로 토큰이 노출되지 않도록)
+ *   - 만료: min(설정 TTL, 토큰의 남은 유효 시간) → 만료된 토큰이 active로 응답되지 않음
+ *   - 캐시 기간(기본 5초) 동안에는 로그아웃/폐기가 반영되지 않을 수 있음
+ * - 검사 시간(`auth.introspect{mode}`)과 캐시 통계(`cache.*{cache="token_introspection"}`)를 Micrometer로 기록
+ */
+@Service
+public class TokenIntrospectionService {
+    private static final String ACCESS_TOKEN_TYPE = "access_token";
+
+    private final JwtUtil jwtUtil;
+    private final List<TokenRevocationCheck> revocationChecks;
+    private final Executor taskExecutor;
+    private final Cache<String, IntrospectionResponse> results;
+    private final int parallelThreshold;
+    private final int maxBatchSize;
+    private final Timer singleTimer;
+    private final Timer batchTimer;
+
+    /**
+     * ✅ TokenIntrospectionService 생성자
+     *
+     * @param parallelThreshold 병렬 검증을 시작하는 토큰 수 (= 병렬 작업 하나가 맡는 토큰 수)
+     * @param maxBatchSize 일괄 검사 요청 하나에 허용하는 최대 토큰 수
+     * @param cacheMaxSize 캐싱할 최대 결과 수
+     * @param cacheTtl 결과 캐시 만료 시간 (폐기 반영 지연의 상한)
+     */
+    public TokenIntrospectionService(JwtUtil jwtUtil,
+                                     List<TokenRevocationCheck> revocationChecks,
+                                     @Qualifier("applicationTaskExecutor") Executor taskExecutor,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${auth.introspection.parallel-threshold:32}") int parallelThreshold,
+                                     @Value("${auth.introspection.max-batch-size:500}") int maxBatchSize,
+                                     @Value("${auth.introspection.cache.max-size:100000}") long cacheMaxSize,
+                                     @Value("${auth.introspection.cache.ttl:5s}") Duration cacheTtl) {
+        this.jwtUtil = jwtUtil;
+        this.revocationChecks = List.copyOf(revocationChecks);
+        this.taskExecutor = taskExecutor;
+        this.parallelThreshold = Math.max(1, parallelThreshold);
+        this.maxBatchSize = maxBatchSize;
+        this.results = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new TokenLifetimeExpiry(cacheTtl))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, results, "token_introspection");
+        this.singleTimer = introspectTimer(meterRegistry, "single");
+        this.batchTimer = introspectTimer(meterRegistry, "batch");
+    }
+
+    private static Timer introspectTimer(MeterRegistry meterRegistry, String mode) {
+        return Timer.builder("auth.introspect")
+                .description("토큰 검사 요청 처리 시간")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * ✅ 토큰 하나 검사
+     */
+    public IntrospectionResponse introspect(String token) {
+        return singleTimer.record(() -> lookup(token));
+    }
+
+    /**
+     * ✅ 토큰 여러 개 검사 (요청 순서대로 결과 반환)
+     *
+     * @throws ResponseStatusException 토큰 수가 최대 허용 수를 넘으면 413
+     */
+    public List<IntrospectionResponse> introspectAll(List<String> tokens) {
+        if (tokens.size() > maxBatchSize) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE,
+                    "한 번에 검사할 수 있는 토큰은 최대 " + maxBatchSize + "개입니다.");
+        }
+        return batchTimer.record(() -> tokens.size() < parallelThreshold
+                ? lookupAll(tokens)
+                : lookupInParallel(tokens));
+    }
+
+    private List<IntrospectionResponse> lookupInParallel(List<String> tokens) {
+        // 🔥 두 번째 묶음부터 다른 스레드에 맡기고, 첫 묶음은 요청 스레드에서 처리
+        List<CompletableFuture<List<IntrospectionResponse>>> chunks = new ArrayList<>();
+        for (int from = parallelThreshold; from < tokens.size(); from += parallelThreshold) {
+            List<String> chunk = tokens.subList(from, Math.min(from + parallelThreshold, tokens.size()));
+            chunks.add(CompletableFuture.supplyAsync(() -> lookupAll(chunk), taskExecutor));
+        }
+
+        List<IntrospectionResponse> responses = new ArrayList<>(tokens.size());
+        responses.addAll(lookupAll(tokens.subList(0, parallelThreshold)));
+        chunks.forEach(chunk -> responses.addAll(chunk.join()));
+        return responses;
+    }
+
+    private List<IntrospectionResponse> lookupAll(List<String> tokens) {
+        List<IntrospectionResponse> responses = new ArrayList<>(tokens.size());
+        for (String token : tokens) {
+            responses.add(lookup(token));
+        }
+        return responses;
+    }
+
+    private IntrospectionResponse lookup(String token) {
+        if (token == null || token.isBlank()) {
+            return IntrospectionResponse.INACTIVE;
+        }
+        IntrospectionResponse response = results.get(sha256(token), key -> verify(token));
+        return response != null ? response : IntrospectionResponse.INACTIVE;
+    }
+
+    /**
+     * ✅ 캐시 미스 시 서명 검증 + 폐기 확인
+     *
+     * @return 검사 결과 (검증 키를 찾지 못했거나 키 저장소 장애면 null → 캐시하지 않고 비활성으로 응답)
+     */
+    private IntrospectionResponse verify(String token) {
+        VerifiedClaims claims;
+        try {
+            claims = jwtUtil.verify(token);
+        } catch (JwtUtil.UnknownSigningKeyException | JwtSigningKeys.KeysUnavailableException e) {
+            return null; // 🔍 다른 서버가 방금 활성화한 키이거나 키 저장소 장애일 수 있으므로 비활성 결과를 기억하지 않음
+        } catch (JwtException | IllegalArgumentException e) {
+            return IntrospectionResponse.INACTIVE;
+        }
+
+        // ❌ Refresh Token(fid 클레임 포함)은 API 호출에 사용할 수 없으므로 비활성으로 응답
+        if (claims.getFamilyId() != null) {
+            return IntrospectionResponse.INACTIVE;
+        }
+        for (TokenRevocationCheck check : revocationChecks) {
+            if (check.isRevoked(claims)) {
+                return IntrospectionResponse.INACTIVE;
+            }
+        }
+
+        return new IntrospectionResponse(true, ACCESS_TOKEN_TYPE, claims.getSubject(), claims.getRoles(),
+                claims.getExpiresAt() != null ? claims.getExpiresAt().getEpochSecond() : null,
+                claims.getIssuedAt() != null ? claims.getIssuedAt().getEpochSecond() : null,
+                claims.getTokenId(), claims.getSessionId());
+    }
+
+    private static String sha256(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256을 사용할 수 없습니다.", e);
+        }
+    }
+
+    /**
+     * ✅ 캐시 항목별 만료 시간 = min(설정 TTL, 토큰의 남은 유효 시간)
+     *
+     * - 비활성 결과는 설정 TTL 동안 유지 (같은 잘못된 토큰을 반복해서 검증하지 않도록)
+     */
+    private static final class TokenLifetimeExpiry implements Expiry<String, IntrospectionResponse> {
+        private final long maxTtlNanos;
+
+        private TokenLifetimeExpiry(Duration maxTtl) {
+            this.maxTtlNanos = maxTtl.toNanos();
+        }
+
+        @Override
+        public long expireAfterCreate(String key, IntrospectionResponse value, long currentTime) {
+            if (!value.isActive() || value.getExp() == null) {
+                return maxTtlNanos;
+            }
+            long remainingNanos = Duration.between(Instant.now(), Instant.ofEpochSecond(value.getExp())).toNanos();
+            return Math.max(0, Math.min(maxTtlNanos, remainingNanos));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, IntrospectionResponse value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, IntrospectionResponse value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
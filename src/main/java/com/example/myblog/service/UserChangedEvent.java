@@ -0,0 +1,38 @@
+package com.example.myblog.service;
+
+import lombok.Getter;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * ✅ 사용자 정보 변경 이벤트
+ *
+ * - 회원가입, OAuth 사용자 저장/업데이트, 역할 변경 등 사용자 문서가 바뀌었을 때 발행
+ * - 사용자 정보를 캐싱하는 컴포넌트는 이 이벤트를 받아 해당 항목을 제거해야 함
+ * - 다른 서버(replica)에서 변경되어 Redis Pub/Sub으로 전달된 경우 `remote`가 true
+ */
+@Getter
+public class UserChangedEvent {
+
+    /**
+     * ✅ 변경된 사용자를 가리키는 식별자 목록 (username, email)
+     */
+    private final Set<String> identifiers;
+
+    /**
+     * ✅ 다른 서버에서 발생한 변경인지 여부 (true면 다시 전파하지 않음)
+     */
+    private final boolean remote;
+
+    public UserChangedEvent(String... identifiers) {
+        this(Stream.of(identifiers).filter(Objects::nonNull).collect(Collectors.toUnmodifiableSet()), false);
+    }
+
+    public UserChangedEvent(Set<String> identifiers, boolean remote) {
+        this.identifiers = Set.copyOf(identifiers);
+        this.remote = remote;
+    }
+}
@@ -1,29 +1,61 @@
 package com.example.myblog.service;
 
-import com.example.myblog.entity.User;
+import com.example.myblog.dto.UserAuthView;
 import com.example.myblog.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
 import java.util.Collections;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // ✅ 정규화된 식별자(username 또는 소문자 email) → UserDetails 캐시 (크기 제한 + TTL)
+    private final Cache<String, UserDetails> cache;
 
     /**
      * ✅ UserDetailsServiceImpl 생성자
-     * - UserRepository를 주입받아 DB에서 사용자 정보를 조회
+     * - 비밀번호 해시가 필요하므로 공유 캐시(`UserNearCache`, 해시 미보관) 대신 MongoDB에서 직접 조회
+     * - 조회 결과는 크기와 만료 시간이 제한된 로컬 캐시에 보관 (서버 메모리에만 존재)
+     * - 캐시 통계는 `cache.*{cache="user_details"}` 메트릭으로 노출
+     *
+     * @param maxSize 캐시에 보관할 최대 사용자 수
+     * @param ttl 캐시 항목의 만료 시간 (쓰기 기준)
+     * @param meterRegistry 메트릭 레지스트리
      */
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  ApplicationEventPublisher eventPublisher,
+                                  @Value("${auth.user-details-cache.max-size:10000}") long maxSize,
+                                  @Value("${auth.user-details-cache.ttl:5m}") Duration ttl,
+                                  MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats() // 🔍 hit / miss / eviction 통계 수집
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "user_details");
     }
 
     /**
      * ✅ 사용자 인증 정보 조회 (Spring Security가 자동 호출)
      * - 일반 로그인: username 기반 조회
      * - 소셜 로그인(OAuth2): email 기반 조회
+     * - 캐시에 없을 때만 DB 조회 (같은 키에 대한 동시 조회는 한 번만 수행)
      *
      * @param identifier username 또는 email
      * @return UserDetails (Spring Security에서 사용)
@@ -31,18 +63,59 @@ public class UserDetailsServiceImpl implements UserDetailsService {
      */
     @Override
     public UserDetails loadUserByUsername(String identifier) throws UsernameNotFoundException {
-        User user;
-
-        // 🔍 identifier(아이디)가 이메일인지 확인
-        if (identifier.contains("@")) {
-            // ✅ 이메일 기반 조회 (OAuth2 로그인 사용자)
-            user = userRepository.findByEmail(identifier.toLowerCase())
-                    .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + identifier));
-        } else {
-            // ✅ 일반 로그인 사용자는 username 기반 조회
-            user = userRepository.findByUsername(identifier)
-                    .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + identifier));
-        }
+        UserDetails cached = cache.get(normalize(identifier), this::loadFromRepository);
+
+        // 🔥 ProviderManager가 인증 후 credentials를 지우므로, 캐시 원본 대신 복사본을 반환
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
+    }
+
+    /**
+     * ✅ 비밀번호 해시 업그레이드 (DaoAuthenticationProvider가 인증 성공 후 자동 호출)
+     * - 저장된 해시의 강도가 현재 PasswordEncoder 설정보다 낮을 때만 호출됨
+     *
+     * @param user 인증된 사용자
+     * @param newPassword 새 강도로 해싱된 비밀번호
+     * @return 새 비밀번호가 반영된 UserDetails
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByIdentifier(user.getUsername(), newPassword);
+        eventPublisher.publishEvent(new UserChangedEvent(user.getUsername()));
+        return org.springframework.security.core.userdetails.User.withUserDetails(user).password(newPassword).build();
+    }
+
+    /**
+     * ✅ 사용자 정보 변경 시 캐시에서 제거
+     * - 회원가입, OAuth 사용자 저장/업데이트, 역할 변경 시 발행되는 이벤트를 수신
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        event.getIdentifiers().forEach(identifier -> cache.invalidate(normalize(identifier)));
+    }
+
+    /**
+     * ✅ 캐시 통계 (hit / miss / eviction)
+     */
+    public CacheStats cacheStats() {
+        return cache.stats();
+    }
+
+    /**
+     * ✅ 캐시 키 정규화
+     * - 이메일은 대소문자를 구분하지 않으므로 소문자로 변환
+     * - `UserNearCache`도 같은 규칙을 사용 (같은 `UserChangedEvent`로 두 캐시의 항목이 함께 무효화되도록)
+     */
+    static String normalize(String identifier) {
+        return identifier.contains("@") ? identifier.toLowerCase() : identifier;
+    }
+
+    /**
+     * ✅ DB에서 사용자 정보를 조회하여 UserDetails 생성 (캐시 미스 시 호출)
+     */
+    private UserDetails loadFromRepository(String identifier) {
+        // 🔍 일반 로그인(username)과 소셜 로그인(email)을 한 번의 조회로 처리
+        UserAuthView user = userRepository.findAuthViewByIdentifier(identifier)
+                .orElseThrow(() -> new UsernameNotFoundException("사용자를 찾을 수 없습니다: " + identifier));
 
         // 🔥 OAuth2 사용자는 비밀번호 없이 인증 처리 가능 (비밀번호 없을 경우 빈 문자열 처리)
         String password = (user.getPassword() != null) ? user.getPassword() : "";
@@ -0,0 +1,353 @@
+package com.example.myblog.service;
+
+import com.example.myblog.dto.UserAuthView;
+import com.example.myblog.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * ✅ UserNearCache (User 문서 2단계 캐시)
+ *
+ * - 인증에 필요한 필드(`UserAuthView`)만 MongoDB에서 가져와 불변 객체로 캐싱
+ *   - 비밀번호 해시는 캐싱하지 않음 (`getPassword()`는 항상 null) → Redis 덤프/복제본으로 해시가 새지 않음
+ *   - 비밀번호 확인이 필요한 로그인 경로는 `UserRepository`에서 직접 조회
+ * - L1: 서버 내부 Caffeine 캐시 (짧은 TTL)
+ * - L2: Redis Hash (`user_cache:{u|e|i}:{식별자}`), 모든 서버가 공유
+ *   - 이메일 식별자는 소문자로 정규화하여 키로 사용 (`UserDetailsServiceImpl`과 같은 규칙)
+ * - 캐시 미스 시에만 MongoDB(`UserRepository`)를 조회
+ * - 사용자 변경 시 L2를 짧은 툼스톤으로 바꾸고 Redis Pub/Sub으로 다른 서버의 L1도 무효화
+ * - 변경 전에 MongoDB에서 읽은 값이 무효화 이후에 다시 캐시에 써지지 않도록 방지
+ *   - L2: 키가 비어 있을 때만 채움 (Lua 스크립트), 툼스톤이 남아 있는 동안(`tombstone-ttl`)에는 채우지 않음
+ *   - L1: 조회 시작 후 무효화가 일어났으면 채운 항목을 다시 제거 (서버 내 무효화 세대 번호 비교)
+ * - L1 통계는 `cache.*{cache="user_near_cache"}`, L2 적중 여부는 `auth.user_cache.l2{result}` 메트릭으로 노출
+ */
+@Component
+public class UserNearCache implements MessageListener {
+    private static final Logger logger = LoggerFactory.getLogger(UserNearCache.class);
+
+    private static final String KEY_PREFIX = "user_cache:";
+    private static final String INVALIDATION_CHANNEL = "user_cache:invalidate";
+    private static final String TOMBSTONE_FIELD = "tombstone";
+
+    // 🔥 키가 없을 때만 채움 (무효화 툼스톤이나 다른 서버가 먼저 채운 값은 덮어쓰지 않음)
+    private static final RedisScript<Long> FILL_SCRIPT = RedisScript.of("""
+            if redis.call('EXISTS', KEYS[1]) == 1 then
+              return 0
+            end
+            redis.call('HSET', KEYS[1], unpack(ARGV, 2))
+            redis.call('PEXPIRE', KEYS[1], ARGV[1])
+            return 1
+            """, Long.class);
+
+    // 🔥 캐시 항목을 툼스톤으로 교체 (삭제 + 툼스톤 저장을 원자적으로 처리)
+    private static final String INVALIDATE_SCRIPT_SOURCE = """
+            redis.call('DEL', KEYS[1])
+            redis.call('HSET', KEYS[1], ARGV[1], '1')
+            redis.call('PEXPIRE', KEYS[1], ARGV[2])
+            return 1
+            """;
+
+    private final UserRepository userRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<String, UserAuthView> localCache;
+    private final Duration redisTtl;
+    private final Duration tombstoneTtl;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+
+    // ✅ 자신이 보낸 무효화 메시지를 구분하기 위한 서버 ID
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // ✅ 무효화 세대 번호 (무효화마다 증가, L1에 오래된 값이 다시 채워지는 것을 막는 데 사용)
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * ✅ UserNearCache 생성자
+     *
+     * @param localMaxSize L1 최대 항목 수
+     * @param localTtl L1 만료 시간
+     * @param redisTtl L2 만료 시간
+     * @param tombstoneTtl 무효화 후 L2를 다시 채우지 않는 시간 (변경 전 값을 읽은 조회가 끝나기에 충분한 시간)
+     */
+    public UserNearCache(UserRepository userRepository,
+                         StringRedisTemplate redisTemplate,
+                         ApplicationEventPublisher eventPublisher,
+                         RedisMessageListenerContainer listenerContainer,
+                         @Value("${auth.user-cache.local-max-size:10000}") long localMaxSize,
+                         @Value("${auth.user-cache.local-ttl:1m}") Duration localTtl,
+                         @Value("${auth.user-cache.redis-ttl:10m}") Duration redisTtl,
+                         @Value("${auth.user-cache.tombstone-ttl:5s}") Duration tombstoneTtl,
+                         MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.redisTemplate = redisTemplate;
+        this.eventPublisher = eventPublisher;
+        this.redisTtl = redisTtl;
+        this.tombstoneTtl = tombstoneTtl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(localMaxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "user_near_cache");
+        this.redisHits = Counter.builder("auth.user_cache.l2").tag("result", "hit").register(meterRegistry);
+        this.redisMisses = Counter.builder("auth.user_cache.l2").tag("result", "miss").register(meterRegistry);
+
+        // 🔥 다른 서버의 무효화 메시지 구독
+        listenerContainer.addMessageListener(this, new ChannelTopic(INVALIDATION_CHANNEL));
+    }
+
+    /**
+     * ✅ username으로 사용자 조회 (L1 → L2 → MongoDB)
+     */
+    public Optional<UserAuthView> findByUsername(String username) {
+        return find(keyOf("u:", username), () -> userRepository.findAuthViewByUsername(username));
+    }
+
+    /**
+     * ✅ email로 사용자 조회 (L1 → L2 → MongoDB)
+     */
+    public Optional<UserAuthView> findByEmail(String email) {
+        return find(keyOf("e:", email), () -> userRepository.findAuthViewByEmail(email));
+    }
+
+    /**
+     * ✅ username 또는 email로 사용자 조회 (L1 → L2 → MongoDB `$or` 한 번)
+     */
+    public Optional<UserAuthView> findByIdentifier(String identifier) {
+        return find(keyOf("i:", identifier), () -> userRepository.findAuthViewByIdentifier(identifier));
+    }
+
+    /**
+     * ✅ 사용자 변경 이벤트 처리
+     *
+     * - 로컬 변경: L1 제거 + L2를 툼스톤으로 교체 + 다른 서버에 무효화 메시지 발행
+     * - 원격 변경: L1만 제거 (L2는 변경한 서버가 이미 교체함)
+     * - 세대 번호를 L1 제거보다 먼저 올려야 진행 중인 조회가 무효화를 놓치지 않음
+     */
+    @EventListener
+    public void onUserChanged(UserChangedEvent event) {
+        List<String> keys = keysOf(event.getIdentifiers());
+        invalidations.incrementAndGet();
+        localCache.invalidateAll(keys);
+
+        if (event.isRemote() || keys.isEmpty()) {
+            return;
+        }
+
+        try {
+            // 🔥 키마다 툼스톤 스크립트를 파이프라인으로 전송 (키 하나씩 처리하므로 Redis Cluster에서도 동작)
+            String tombstoneMillis = Long.toString(tombstoneTtl.toMillis());
+            redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                keys.forEach(key -> stringConnection.eval(INVALIDATE_SCRIPT_SOURCE, ReturnType.INTEGER, 1,
+                        KEY_PREFIX + key, TOMBSTONE_FIELD, tombstoneMillis));
+                return null;
+            });
+            redisTemplate.convertAndSend(INVALIDATION_CHANNEL, nodeId + "\n" + String.join("\n", event.getIdentifiers()));
+        } catch (DataAccessException e) {
+            logger.warn("⚠️ 사용자 캐시 무효화 전파 실패 - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ 다른 서버에서 보낸 무효화 메시지 수신
+     *
+     * - 메시지 형식: "{nodeId}\n{식별자1}\n{식별자2}..."
+     * - 수신한 서버에서는 원격 이벤트로 다시 발행하여 모든 로컬 캐시가 비워지도록 함
+     */
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String[] lines = new String(message.getBody(), StandardCharsets.UTF_8).split("\n");
+        if (lines.length < 2 || nodeId.equals(lines[0])) {
+            return; // 자신이 보낸 메시지는 무시
+        }
+        Set<String> identifiers = new HashSet<>(Arrays.asList(lines).subList(1, lines.length));
+        eventPublisher.publishEvent(new UserChangedEvent(identifiers, true));
+    }
+
+    /**
+     * ✅ 2단계 캐시 조회 공통 로직
+     */
+    private Optional<UserAuthView> find(String key, Supplier<Optional<UserAuthView>> loader) {
+        // 🔍 L1 (로컬)
+        UserAuthView cached = localCache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long generation = invalidations.get();
+
+        // 🔍 L2 (Redis)
+        UserAuthView user = readFromRedis(key);
+
+        // 🔍 MongoDB
+        if (user == null) {
+            Optional<UserAuthView> loaded = loader.get();
+            if (loaded.isEmpty()) {
+                return Optional.empty(); // 존재하지 않는 사용자는 캐싱하지 않음
+            }
+            user = CachedUser.of(loaded.get());
+            writeToRedis(key, user);
+        }
+
+        localCache.put(key, user);
+        if (invalidations.get() != generation) {
+            localCache.invalidate(key); // 조회 도중 무효화됨 → 변경 전 값일 수 있으므로 L1에 남기지 않음
+        }
+        return Optional.of(user);
+    }
+
+    private UserAuthView readFromRedis(String key) {
+        try {
+            Map<Object, Object> hash = redisTemplate.opsForHash().entries(KEY_PREFIX + key);
+            if (hash.isEmpty() || hash.containsKey(TOMBSTONE_FIELD)) {
+                redisMisses.increment();
+                return null;
+            }
+            redisHits.increment();
+            return fromHash(hash);
+        } catch (DataAccessException e) {
+            logger.warn("⚠️ Redis 사용자 캐시 조회 실패 - {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeToRedis(String key, UserAuthView user) {
+        // 🔥 ARGV: [TTL(ms), field1, value1, field2, value2, ...]
+        List<String> args = new ArrayList<>();
+        args.add(Long.toString(redisTtl.toMillis()));
+        toHash(user).forEach((field, value) -> {
+            args.add(field);
+            args.add(value);
+        });
+        try {
+            redisTemplate.execute(FILL_SCRIPT, List.of(KEY_PREFIX + key), args.toArray());
+        } catch (DataAccessException e) {
+            logger.warn("⚠️ Redis 사용자 캐시 저장 실패 - {}", e.getMessage());
+        }
+    }
+
+    /**
+     * ✅ 식별자 목록 → 캐시 키 목록 (username / email / 통합 식별자 모두)
+     */
+    private List<String> keysOf(Set<String> identifiers) {
+        List<String> keys = new ArrayList<>();
+        for (String identifier : identifiers) {
+            keys.add(keyOf("u:", identifier));
+            keys.add(keyOf("e:", identifier));
+            keys.add(keyOf("i:", identifier));
+        }
+        return keys;
+    }
+
+    /**
+     * ✅ 캐시 키 (이메일은 소문자로 정규화 - `UserDetailsServiceImpl`과 같은 규칙)
+     *
+     * - 조회("User@Gmail.com")와 변경 이벤트("user@gmail.com")의 대소문자가 달라도 같은 L1/L2 항목을 가리킴
+     * - MongoDB 조회에는 원래 식별자를 그대로 사용
+     */
+    private static String keyOf(String prefix, String identifier) {
+        return prefix + UserDetailsServiceImpl.normalize(identifier);
+    }
+
+    private Map<String, String> toHash(UserAuthView user) {
+        Map<String, String> hash = new HashMap<>();
+        putIfNotNull(hash, "username", user.getUsername());
+        putIfNotNull(hash, "email", user.getEmail());
+        putIfNotNull(hash, "oauth_provider", user.getOauthProvider());
+        if (user.getRoles() != null) {
+            hash.put("roles", String.join(",", user.getRoles()));
+        }
+        return hash;
+    }
+
+    private UserAuthView fromHash(Map<Object, Object> hash) {
+        String roles = (String) hash.get("roles");
+        return new CachedUser(
+                (String) hash.get("username"),
+                (String) hash.get("email"),
+                roles == null || roles.isEmpty() ? Set.of() : Set.of(roles.split(",")),
+                (String) hash.get("oauth_provider"));
+    }
+
+    private void putIfNotNull(Map<String, String> hash, String field, String value) {
+        if (value != null) {
+            hash.put(field, value);
+        }
+    }
+
+    /**
+     * ✅ 캐시에 보관하는 불변 사용자 조회 모델
+     *
+     * - 캐시 원본을 그대로 반환해도 외부에서 수정할 수 없으므로 복사가 필요 없음
+     * - 비밀번호 해시는 보관하지 않음
+     */
+    private static final class CachedUser implements UserAuthView {
+        private final String username;
+        private final String email;
+        private final Set<String> roles;
+        private final String oauthProvider;
+
+        private CachedUser(String username, String email, Set<String> roles, String oauthProvider) {
+            this.username = username;
+            this.email = email;
+            this.roles = roles;
+            this.oauthProvider = oauthProvider;
+        }
+
+        static CachedUser of(UserAuthView view) {
+            return new CachedUser(view.getUsername(), view.getEmail(),
+                    view.getRoles() != null ? Set.copyOf(view.getRoles()) : Set.of(), view.getOauthProvider());
+        }
+
+        @Override
+        public String getUsername() {
+            return username;
+        }
+
+        @Override
+        public String getEmail() {
+            return email;
+        }
+
+        @Override
+        public String getPassword() {
+            return null;
+        }
+
+        @Override
+        public Set<String> getRoles() {
+            return roles;
+        }
+
+        @Override
+        public String getOauthProvider() {
+            return oauthProvider;
+        }
+    }
+}
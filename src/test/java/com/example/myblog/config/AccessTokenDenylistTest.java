@@ -0,0 +1,137 @@
+package com.example.myblog.config;
+
+import com.example.myblog.service.AccessTokenRevokedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.DefaultTypedTuple;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ✅ AccessTokenDenylist 테스트
+ *
+ * - 만료 시각 구간(Bloom 필터) 경계, 정확한 집합으로 오탐 제거, 만료 항목 정리 확인
+ * - Redis는 목 객체 (Sorted Set 기록 + Pub/Sub 전파 스크립트 호출, 시작 시 로드, 다른 서버 메시지 수신)
+ */
+class AccessTokenDenylistTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void revokesTokensOnBothSidesOfBucketBoundary() {
+        AccessTokenDenylist denylist = denylist(Duration.ofMinutes(1), 1024);
+        long boundary = (System.currentTimeMillis() / 60_000 + 2) * 60_000;
+
+        denylist.onRevoked(new AccessTokenRevokedEvent("jti-before", Instant.ofEpochMilli(boundary - 1)));
+        denylist.onRevoked(new AccessTokenRevokedEvent("jti-after", Instant.ofEpochMilli(boundary)));
+
+        assertThat(denylist.isRevoked(claims("jti-before", boundary - 1))).isTrue();
+        assertThat(denylist.isRevoked(claims("jti-after", boundary))).isTrue();
+        assertThat(denylist.isRevoked(claims("jti-other", boundary - 1))).isFalse();
+        assertThat(denylist.isRevoked(claims("jti-other", boundary))).isFalse();
+        assertThat(denylist.isRevoked(claims(null, boundary))).isFalse();
+
+        // 🔥 폐기는 Redis Sorted Set 기록 + Pub/Sub 전파 스크립트 한 번으로 다른 서버에 알림
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of("revoked_jti")), eq("jti-before"),
+                eq(Long.toString(boundary - 1)), anyString(), eq("revoked_jti:channel"));
+    }
+
+    @Test
+    void fallsBackToExactSetWhenBloomFilterReportsFalsePositive() {
+        // 🔍 최소 크기(128비트) Bloom 필터에 200건 등록 → 거의 모든 비트가 켜져 "있을 수도 있음"만 답함
+        AccessTokenDenylist denylist = denylist(Duration.ofMinutes(1), 1);
+        long expiresAt = System.currentTimeMillis() + 30_000;
+        for (int i = 0; i < 200; i++) {
+            denylist.onRevoked(new AccessTokenRevokedEvent("revoked-" + i, Instant.ofEpochMilli(expiresAt)));
+        }
+
+        for (int i = 0; i < 200; i++) {
+            assertThat(denylist.isRevoked(claims("revoked-" + i, expiresAt))).isTrue();
+            assertThat(denylist.isRevoked(claims("active-" + i, expiresAt))).isFalse();
+        }
+    }
+
+    @Test
+    void prunesExpiredEntriesAndIgnoresExpiredRevocations() throws InterruptedException {
+        AccessTokenDenylist denylist = denylist(Duration.ofMillis(100), 1024);
+        long now = System.currentTimeMillis();
+        denylist.onRevoked(new AccessTokenRevokedEvent("short-lived", Instant.ofEpochMilli(now + 150)));
+        denylist.onRevoked(new AccessTokenRevokedEvent("long-lived", Instant.ofEpochMilli(now + 60_000)));
+        Thread.sleep(300);
+
+        // 🔄 다음 등록 시 구간 폭마다 한 번 만료된 구간과 항목을 정리
+        denylist.onRevoked(new AccessTokenRevokedEvent("trigger", Instant.ofEpochMilli(now + 60_000)));
+
+        assertThat(meterRegistry.get("auth.jwt.denylist.size").gauge().value()).isEqualTo(2);
+        assertThat(denylist.isRevoked(claims("short-lived", now + 150))).isFalse();
+        assertThat(denylist.isRevoked(claims("long-lived", now + 60_000))).isTrue();
+
+        // ❌ 이미 만료된 토큰은 등록하지도, 전파하지도 않음
+        denylist.onRevoked(new AccessTokenRevokedEvent("expired", Instant.ofEpochMilli(now - 1)));
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), eq("expired"),
+                anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void keepsLocalRevocationWhenRedisIsDown() {
+        AccessTokenDenylist denylist = denylist(Duration.ofMinutes(1), 1024);
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any()))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        long expiresAt = System.currentTimeMillis() + 30_000;
+
+        denylist.onRevoked(new AccessTokenRevokedEvent("jti-1", Instant.ofEpochMilli(expiresAt)));
+
+        assertThat(denylist.isRevoked(claims("jti-1", expiresAt))).isTrue();
+    }
+
+    @Test
+    void loadsSortedSetOnStartupAndAppliesMessagesFromOtherServers() {
+        long expiresAt = System.currentTimeMillis() + 30_000;
+        @SuppressWarnings("unchecked")
+        ZSetOperations<String, String> zSetOperations = mock(ZSetOperations.class);
+        when(redisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        when(zSetOperations.rangeByScoreWithScores(eq("revoked_jti"), anyDouble(), anyDouble()))
+                .thenReturn(Set.of(new DefaultTypedTuple<>("from-redis", (double) expiresAt)));
+        AccessTokenDenylist denylist = denylist(Duration.ofMinutes(1), 1024);
+
+        denylist.bootstrap();
+        denylist.onMessage(new DefaultMessage("revoked_jti:channel".getBytes(StandardCharsets.UTF_8),
+                ("from-peer " + expiresAt).getBytes(StandardCharsets.UTF_8)), null);
+
+        assertThat(denylist.isRevoked(claims("from-redis", expiresAt))).isTrue();
+        assertThat(denylist.isRevoked(claims("from-peer", expiresAt))).isTrue();
+        verify(zSetOperations).removeRangeByScore(eq("revoked_jti"), eq(Double.NEGATIVE_INFINITY), anyDouble());
+    }
+
+    private AccessTokenDenylist denylist(Duration bucketWidth, int expectedRevocations) {
+        return new AccessTokenDenylist(redisTemplate, mock(RedisMessageListenerContainer.class), meterRegistry,
+                bucketWidth, expectedRevocations);
+    }
+
+    private static VerifiedClaims claims(String tokenId, long expiresAtMillis) {
+        return new VerifiedClaims("alice", Set.of("ROLE_USER"), Instant.now(), Instant.ofEpochMilli(expiresAtMillis),
+                tokenId, null, "s1", 0);
+    }
+}
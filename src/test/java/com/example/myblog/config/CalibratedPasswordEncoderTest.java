@@ -0,0 +1,43 @@
+package com.example.myblog.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ✅ CalibratedPasswordEncoder 테스트
+ *
+ * - 벤치마크 결과가 최소 / 최대 강도 범위를 벗어나지 않는지, 낮은 강도 해시의 재해싱 판단 확인
+ * - 측정 시간이 짧도록 낮은 강도(4 ~ 6)만 사용
+ */
+class CalibratedPasswordEncoderTest {
+
+    @Test
+    void keepsMinimumStrengthWhenTargetIsTooShort() {
+        assertThat(CalibratedPasswordEncoder.calibrate(Duration.ofNanos(1), 5, 6).getStrength()).isEqualTo(5);
+    }
+
+    @Test
+    void capsAtMaximumStrengthWhenTargetIsGenerous() {
+        assertThat(CalibratedPasswordEncoder.calibrate(Duration.ofHours(1), 4, 6).getStrength()).isEqualTo(6);
+    }
+
+    @Test
+    void upgradesOnlyHashesBelowCurrentStrength() {
+        CalibratedPasswordEncoder encoder = new CalibratedPasswordEncoder(5);
+        String weaker = new CalibratedPasswordEncoder(4).encode("secret");
+        String current = encoder.encode("secret");
+        String stronger = new CalibratedPasswordEncoder(6).encode("secret");
+
+        assertThat(encoder.upgradeEncoding(weaker)).isTrue();
+        assertThat(encoder.upgradeEncoding(current)).isFalse();
+        assertThat(encoder.upgradeEncoding(stronger)).isFalse();
+
+        // 🔍 검증은 해시에 포함된 강도를 사용하므로 강도가 달라도 성공
+        assertThat(encoder.matches("secret", weaker)).isTrue();
+        assertThat(encoder.matches("secret", stronger)).isTrue();
+        assertThat(encoder.matches("wrong", current)).isFalse();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.myblog.config;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.security.Key;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ✅ JwtFilter 테스트
+ *
+ * - Stateless 모드(DB 조회 없음) + 검증 결과 메모를 켠 상태에서 Access Token / Refresh Token 처리 확인
+ * - 만료 / 모르는 kid 실패를 메모하지 않는 규칙은 필터가 지킴 (VerifiedTokenCache는 받은 실패를 모두 저장)
+ */
+class JwtFilterTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil(Base64.getEncoder().encodeToString(new byte[32]));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final JwtFilter filter = new JwtFilter(jwtUtil, null, true, List.of(),
+            new VerifiedTokenCache(64, Duration.ofMinutes(1)), meterRegistry, 0);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void authenticatesAccessToken() throws Exception {
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse response = filter(jwtUtil.generateAccessToken("alice", Set.of("ROLE_USER"), "s1", 0), chain);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(chain.getRequest()).isNotNull();
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getName()).isEqualTo("alice");
+    }
+
+    @Test
+    void rejectsRefreshTokenAsBearer() throws Exception {
+        String refreshToken = jwtUtil.generateRefreshToken("alice", "s1");
+
+        // ❌ 서명이 유효한 Refresh Token이라도 Access Token으로는 거부 (메모 적중 시에도 같은 결과)
+        for (int attempt = 0; attempt < 2; attempt++) {
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = filter(refreshToken, chain);
+
+            assertThat(response.getStatus()).isEqualTo(403);
+            assertThat(chain.getRequest()).isNull();
+            assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+        }
+        assertThat(meterRegistry.get("auth.jwt.verify.failures").tag("reason", "refresh_token").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("auth.jwt.verify.cache").tag("result", "rejected_hit").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void doesNotRememberExpiredOrUnknownKeyFailures() throws Exception {
+        Key key = Keys.hmacShaKeyFor(new byte[32]);
+        String expired = Jwts.builder().setSubject("alice")
+                .setExpiration(Date.from(Instant.now().minusSeconds(60)))
+                .signWith(key, SignatureAlgorithm.HS256).compact();
+        String unknownKid = Jwts.builder().setHeaderParam("kid", "rotated-in-elsewhere").setSubject("alice")
+                .setExpiration(Date.from(Instant.now().plusSeconds(60)))
+                .signWith(key, SignatureAlgorithm.HS256).compact();
+
+        // 🔍 만료 / 모르는 kid 실패는 메모하지 않음 → 두 번째 요청도 다시 검증 (실패 메모 적중 없음)
+        for (int attempt = 0; attempt < 2; attempt++) {
+            assertThat(filter(expired, new MockFilterChain()).getStatus()).isEqualTo(401);
+            assertThat(filter(unknownKid, new MockFilterChain()).getStatus()).isEqualTo(403);
+        }
+        assertThat(meterRegistry.get("auth.jwt.verify.failures").tag("reason", "expired").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("auth.jwt.verify.cache").tag("result", "rejected_hit").counter().count()).isZero();
+    }
+
+    @Test
+    void answersServiceUnavailableWhenSigningKeysCannotBeLoaded() throws Exception {
+        JwtSigningKeys unavailableKeys = mock(JwtSigningKeys.class);
+        when(unavailableKeys.verificationKey(any(), any()))
+                .thenThrow(new JwtSigningKeys.KeysUnavailableException("down", null));
+        JwtFilter keyRingFilter = new JwtFilter(new JwtUtil(unavailableKeys), null, true, List.of(),
+                new VerifiedTokenCache(64, Duration.ofMinutes(1)), meterRegistry, 0);
+        String token = jwtUtil.generateAccessToken("alice", Set.of("ROLE_USER"), "s1", 0);
+
+        // 🔥 키 저장소 장애는 토큰 문제가 아님 → 500/403이 아닌 503, 실패 결과도 기억하지 않음
+        for (int attempt = 0; attempt < 2; attempt++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth/sessions");
+            request.addHeader("Authorization", "Bearer " + token);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            MockFilterChain chain = new MockFilterChain();
+            keyRingFilter.doFilter(request, response, chain);
+
+            assertThat(response.getStatus()).isEqualTo(503);
+            assertThat(response.getHeader("Retry-After")).isEqualTo("1");
+            assertThat(chain.getRequest()).isNull();
+        }
+        assertThat(meterRegistry.get("auth.jwt.verify.failures").tag("reason", "key_unavailable").counter().count())
+                .isEqualTo(2);
+    }
+
+    private MockHttpServletResponse filter(String token, MockFilterChain chain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth/sessions");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+}
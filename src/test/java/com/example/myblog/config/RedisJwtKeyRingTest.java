@@ -0,0 +1,173 @@
+package com.example.myblog.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ✅ RedisJwtKeyRing 테스트
+ *
+ * - 키 교체 → 공개 지연 → 이전 kid로 검증 → 정리, 개인 키 암호화(AES-GCM) 복원, 모르는 kid 재조회 제한, Redis 장애 처리 확인
+ * - Redis는 목 객체 (`jwt_keys` Hash와 교체 스크립트를 메모리 Map으로 흉내)
+ */
+class RedisJwtKeyRingTest {
+
+    private static final String ENCRYPTION_KEY = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private final Map<Object, Object> storedKeys = new ConcurrentHashMap<>();
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+    private volatile String newestKeyId;
+
+    RedisJwtKeyRingTest() {
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        when(hashOperations.entries("jwt_keys")).thenAnswer(invocation -> Map.copyOf(storedKeys));
+        doAnswer(invocation -> {
+            Arrays.stream(invocation.getArguments()).skip(1).forEach(storedKeys::remove);
+            return 1L;
+        }).when(hashOperations).delete(eq("jwt_keys"), any());
+        // 🔍 ROTATE_SCRIPT와 같은 규칙: 가장 최근 키가 교체 주기보다 오래되었을 때만 등록
+        when(redisTemplate.execute(any(RedisScript.class), anyList(), any(), any(), any(), any()))
+                .thenAnswer(invocation -> {
+                    String keyId = invocation.getArgument(2);
+                    String stored = invocation.getArgument(3);
+                    long now = Long.parseLong(invocation.getArgument(4));
+                    long rotationInterval = Long.parseLong(invocation.getArgument(5));
+                    String newest = newestKeyId;
+                    String newestStored = newest != null ? (String) storedKeys.get(newest) : null;
+                    if (newestStored != null && now - Long.parseLong(newestStored.split(":")[0]) < rotationInterval) {
+                        return newest;
+                    }
+                    storedKeys.put(keyId, stored);
+                    newestKeyId = keyId;
+                    return keyId;
+                });
+    }
+
+    @Test
+    void rotatesPublishesLateAndPrunesRetiredKeys() throws InterruptedException {
+        RedisJwtKeyRing keyRing = keyRing(ENCRYPTION_KEY, Duration.ofMillis(400), Duration.ofMillis(400),
+                Duration.ofMillis(100));
+        JwtUtil jwtUtil = new JwtUtil(keyRing);
+        long startedAt = System.currentTimeMillis();
+
+        String firstKeyId = keyRing.signingKey().keyId();
+        String oldToken = jwtUtil.generateAccessToken("alice", Set.of("ROLE_USER"));
+
+        // 🔄 교체 주기가 지나면 새 키 등록, 단 JWKS 캐시 시간(100ms) 동안은 이전 키로 계속 서명
+        sleepUntil(startedAt + 450);
+        keyRing.maintain();
+        assertThat(storedKeys).hasSize(2);
+        assertThat(keyRing.signingKey().keyId()).isEqualTo(firstKeyId);
+        assertThat(keyRing.jwkSet().json()).contains(newestKeyId);
+
+        sleepUntil(startedAt + 600);
+        keyRing.maintain();
+        String secondKeyId = keyRing.signingKey().keyId();
+        assertThat(secondKeyId).isNotEqualTo(firstKeyId);
+        String newToken = jwtUtil.generateAccessToken("alice", Set.of("ROLE_USER"));
+
+        // ✅ 교체 후에도 이전 kid로 서명된 토큰 검증 가능
+        assertThat(jwtUtil.verify(oldToken).getSubject()).isEqualTo("alice");
+
+        // 🔥 다음 키가 서명에 쓰인 뒤 보관 기간(400ms)이 지나면 이전 키 삭제 → 이전 토큰은 모르는 kid
+        sleepUntil(startedAt + 1000);
+        keyRing.maintain();
+        sleepUntil(startedAt + 1150);
+        keyRing.maintain();
+        assertThat(storedKeys).doesNotContainKey(firstKeyId).containsKey(secondKeyId);
+        assertThat(keyRing.jwkSet().json()).doesNotContain(firstKeyId);
+        assertThatThrownBy(() -> jwtUtil.verify(oldToken)).isInstanceOf(JwtUtil.UnknownSigningKeyException.class);
+        assertThat(jwtUtil.verify(newToken).getSubject()).isEqualTo("alice");
+    }
+
+    @Test
+    void unwrapsPrivateKeysStoredByAnotherServer() {
+        RedisJwtKeyRing issuer = keyRing(ENCRYPTION_KEY, Duration.ofDays(1), Duration.ofDays(8), Duration.ZERO);
+        String token = new JwtUtil(issuer).generateAccessToken("alice", Set.of("ROLE_USER"));
+
+        // 🔍 같은 암호화 키를 쓰는 다른 서버는 저장된 개인 키를 복원해 같은 키로 서명
+        RedisJwtKeyRing peer = keyRing(ENCRYPTION_KEY, Duration.ofDays(1), Duration.ofDays(8), Duration.ZERO);
+        assertThat(peer.signingKey().keyId()).isEqualTo(issuer.signingKey().keyId());
+        assertThat(peer.signingKey().key().getEncoded()).isEqualTo(issuer.signingKey().key().getEncoded());
+        assertThat(new JwtUtil(peer).verify(token).getSubject()).isEqualTo("alice");
+
+        // ❌ 암호화 키가 다르면 GCM 인증 태그 검증에 실패하여 키를 읽지 않음
+        byte[] otherKey = new byte[32];
+        otherKey[0] = 1;
+        RedisJwtKeyRing wrongKey = keyRing(Base64.getEncoder().encodeToString(otherKey),
+                Duration.ofDays(1), Duration.ofDays(8), Duration.ZERO);
+        assertThatThrownBy(wrongKey::signingKey).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void reloadsAtMostOncePerSecondForUnknownKeyIds() throws InterruptedException {
+        RedisJwtKeyRing keyRing = keyRing(ENCRYPTION_KEY, Duration.ofDays(1), Duration.ofDays(8), Duration.ZERO);
+        keyRing.signingKey();
+        verify(hashOperations, times(1)).entries("jwt_keys");
+
+        // 🔍 방금 불러왔으므로 모르는 kid가 와도 Redis를 다시 조회하지 않음
+        assertThat(keyRing.verificationKey("unknown", SignatureAlgorithm.ES256.getValue())).isNull();
+        verify(hashOperations, times(1)).entries("jwt_keys");
+
+        Thread.sleep(1100);
+        assertThat(keyRing.verificationKey("unknown", SignatureAlgorithm.ES256.getValue())).isNull();
+        assertThat(keyRing.verificationKey("unknown", SignatureAlgorithm.ES256.getValue())).isNull();
+        verify(hashOperations, times(2)).entries("jwt_keys");
+
+        // ❌ kid가 있는 토큰이 다른 알고리즘을 주장하면 조회 없이 거부
+        assertThat(keyRing.verificationKey(keyRing.signingKey().keyId(), SignatureAlgorithm.HS256.getValue()))
+                .isNull();
+    }
+
+    @Test
+    void reportsUnavailableKeysInsteadOfUnknownKeyWhenRedisIsDown() throws InterruptedException {
+        RedisJwtKeyRing keyRing = keyRing(ENCRYPTION_KEY, Duration.ofDays(1), Duration.ofDays(8), Duration.ZERO);
+        String knownKeyId = keyRing.signingKey().keyId();
+        when(hashOperations.entries("jwt_keys")).thenThrow(new RedisConnectionFailureException("down"));
+        Thread.sleep(1100);
+
+        // 🔥 Redis 장애 중에도 이미 아는 키는 검증 가능, 모르는 kid는 판단하지 못했다고 알림 (재조회 제한 중에도 동일)
+        assertThatThrownBy(() -> keyRing.verificationKey("unknown", SignatureAlgorithm.ES256.getValue()))
+                .isInstanceOf(JwtSigningKeys.KeysUnavailableException.class);
+        assertThatThrownBy(() -> keyRing.verificationKey("unknown", SignatureAlgorithm.ES256.getValue()))
+                .isInstanceOf(JwtSigningKeys.KeysUnavailableException.class);
+        assertThat(keyRing.verificationKey(knownKeyId, SignatureAlgorithm.ES256.getValue())).isNotNull();
+    }
+
+    private RedisJwtKeyRing keyRing(String encryptionKey, Duration rotationInterval, Duration retention,
+                                    Duration publishDelay) {
+        return new RedisJwtKeyRing(redisTemplate, new ObjectMapper(), encryptionKey, rotationInterval, retention,
+                false, publishDelay);
+    }
+
+    private static void sleepUntil(long at) throws InterruptedException {
+        long remaining = at - System.currentTimeMillis();
+        if (remaining > 0) {
+            Thread.sleep(remaining);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.myblog.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ✅ VerifiedTokenCache 테스트
+ *
+ * - 적중 / 미스, 같은 슬롯 충돌 시 덮어쓰기와 토큰 원문 비교, 검증 실패 메모 시간, exp 만료 확인
+ * - 현재 시각은 인자로 넘기므로 시간을 직접 지정해 확인
+ */
+class VerifiedTokenCacheTest {
+
+    private static final long NOW = 1_000_000L;
+
+    // 🔍 "Aa"와 "BB"는 String.hashCode()가 같음 → 항상 같은 슬롯
+    private static final String TOKEN = "header.payload-Aa.signature";
+    private static final String COLLIDING_TOKEN = "header.payload-BB.signature";
+
+    private final VerifiedTokenCache cache = new VerifiedTokenCache(64, Duration.ofSeconds(30));
+
+    @Test
+    void returnsVerifiedClaimsUntilExpiry() {
+        VerifiedClaims claims = claims("alice", NOW + 60_000);
+        assertThat(cache.lookup(TOKEN, NOW)).isNull();
+
+        cache.putVerified(TOKEN, claims);
+
+        assertThat(cache.lookup(TOKEN, NOW).getClaims()).isSameAs(claims);
+        assertThat(cache.lookup(TOKEN, NOW + 59_999).getClaims()).isSameAs(claims);
+        assertThat(cache.lookup(TOKEN, NOW + 60_000)).isNull(); // ❌ exp 이후에는 통과시키지 않음
+        assertThat(cache.lookup("header.payload-other.signature", NOW)).isNull();
+    }
+
+    @Test
+    void skipsClaimsWithoutExpiry() {
+        cache.putVerified(TOKEN, new VerifiedClaims("alice", Set.of(), Instant.ofEpochMilli(NOW), null));
+
+        assertThat(cache.lookup(TOKEN, NOW)).isNull();
+    }
+
+    @Test
+    void comparesFullTokenWhenHashesCollide() {
+        assertThat(COLLIDING_TOKEN.hashCode()).isEqualTo(TOKEN.hashCode());
+        cache.putVerified(TOKEN, claims("alice", NOW + 60_000));
+
+        // 🔥 해시가 같아도 다른 토큰에는 alice의 클레임을 돌려주지 않음
+        assertThat(cache.lookup(COLLIDING_TOKEN, NOW)).isNull();
+
+        // 🔄 같은 슬롯에 새 항목을 저장하면 이전 항목은 밀려남 (direct-mapped)
+        VerifiedClaims bob = claims("bob", NOW + 60_000);
+        cache.putVerified(COLLIDING_TOKEN, bob);
+        assertThat(cache.lookup(COLLIDING_TOKEN, NOW).getClaims()).isSameAs(bob);
+        assertThat(cache.lookup(TOKEN, NOW)).isNull();
+    }
+
+    @Test
+    void remembersRejectionForNegativeTtl() {
+        cache.putRejected(TOKEN, "invalid_signature", NOW);
+
+        VerifiedTokenCache.Entry entry = cache.lookup(TOKEN, NOW + 29_999);
+        assertThat(entry.getClaims()).isNull();
+        assertThat(entry.getFailureReason()).isEqualTo("invalid_signature");
+        assertThat(cache.lookup(TOKEN, NOW + 30_000)).isNull();
+    }
+
+    @Test
+    void skipsRejectionWhenNegativeTtlIsZero() {
+        VerifiedTokenCache positiveOnly = new VerifiedTokenCache(64, Duration.ZERO);
+        positiveOnly.putVerified(TOKEN, claims("alice", NOW + 60_000));
+
+        // 🔍 실패 메모를 끄면 실패 결과가 성공 항목을 밀어내지도 않음
+        positiveOnly.putRejected(COLLIDING_TOKEN, "malformed", NOW);
+
+        assertThat(positiveOnly.lookup(COLLIDING_TOKEN, NOW)).isNull();
+        assertThat(positiveOnly.lookup(TOKEN, NOW).getClaims().getSubject()).isEqualTo("alice");
+    }
+
+    private static VerifiedClaims claims(String subject, long expiresAtMillis) {
+        return new VerifiedClaims(subject, Set.of("ROLE_USER"), Instant.ofEpochMilli(NOW),
+                Instant.ofEpochMilli(expiresAtMillis), "jti-" + subject, null, "s1", 0);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.myblog.service;
+
+import com.example.myblog.config.JwtUtil;
+import com.example.myblog.config.RefreshTokenDigester;
+import com.example.myblog.config.VerifiedClaims;
+import com.example.myblog.dto.TokenResponse;
+import com.example.myblog.dto.UserAuthView;
+import com.example.myblog.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * ✅ AuthService 테스트
+ *
+ * - Refresh Token 갱신 경로 확인 (소셜 로그인 세션의 subject는 email)
+ * - 세션 저장소는 서버 메모리 저장소, 사용자 캐시와 세대 번호는 목 객체 사용
+ */
+class AuthServiceTest {
+
+    private static final Duration TTL = Duration.ofDays(7);
+
+    private final JwtUtil jwtUtil = new JwtUtil(Base64.getEncoder().encodeToString(new byte[32]));
+    private final InMemoryRefreshTokenStore store = new InMemoryRefreshTokenStore(
+            new RefreshTokenDigester(Base64.getEncoder().encodeToString(new byte[32]), "binary"), 5, Duration.ZERO);
+    private final UserNearCache userNearCache = mock(UserNearCache.class);
+    private final AuthService authService = new AuthService(mock(UserRepository.class), userNearCache,
+            mock(PasswordHashingPool.class), jwtUtil, store, mock(TokenEpochService.class),
+            mock(ApplicationEventPublisher.class), new SimpleMeterRegistry());
+
+    @Test
+    void refreshesOAuthSessionBySubjectEmail() {
+        // 🔥 OAuth2UserService와 같은 방식으로 발급된 세션 (subject = email)
+        String refreshToken = jwtUtil.generateRefreshToken("user@gmail.com", "s1");
+        store.save("user@gmail.com", "s1", refreshToken, TTL, "browser");
+        UserAuthView googleUser = mock(UserAuthView.class);
+        when(googleUser.getUsername()).thenReturn("구글사용자");
+        when(googleUser.getEmail()).thenReturn("user@gmail.com");
+        when(googleUser.getRoles()).thenReturn(Set.of("ROLE_USER"));
+        when(userNearCache.findByIdentifier("user@gmail.com")).thenReturn(Optional.of(googleUser));
+
+        TokenResponse tokens = authService.refreshToken(refreshToken);
+
+        VerifiedClaims access = jwtUtil.verify(tokens.getAccessToken());
+        assertThat(access.getSubject()).isEqualTo("user@gmail.com");
+        assertThat(access.getRoles()).containsExactly("ROLE_USER");
+        assertThat(access.getSessionId()).isEqualTo("s1");
+        assertThat(store.matches("user@gmail.com", "s1", tokens.getRefreshToken())).isTrue();
+    }
+
+    @Test
+    void keepsPresentedTokenWhenUserLookupFails() {
+        String refreshToken = jwtUtil.generateRefreshToken("ghost@gmail.com", "s1");
+        store.save("ghost@gmail.com", "s1", refreshToken, TTL, "browser");
+        when(userNearCache.findByIdentifier("ghost@gmail.com")).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> authService.refreshToken(refreshToken))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND));
+
+        // 🔍 회전 전에 실패했으므로 제시한 토큰은 소비되지 않음
+        assertThat(store.matches("ghost@gmail.com", "s1", refreshToken)).isTrue();
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.myblog.service;
+
+import com.example.myblog.dto.GoogleUserInfo;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+/**
+ * ✅ GoogleUserInfoClient 테스트
+ *
+ * - 실제 Google API 대신 로컬 스텁 서버(JDK HttpServer)를 사용
+ */
+class GoogleUserInfoClientTest {
+
+    private HttpServer server;
+    private GoogleUserInfoClient client;
+
+    // 🔥 스텁 서버 응답 설정
+    private volatile int status = 200;
+    private volatile long delayMillis = 0;
+    private final AtomicInteger hits = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/userinfo", exchange -> {
+            hits.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = ("{\"sub\":\"1\",\"email\":\"user@example.com\",\"name\":\"User\",\"picture\":\"http://img\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+
+        URI uri = URI.create("http://127.0.0.1:" + server.getAddress().getPort() + "/userinfo");
+        client = new GoogleUserInfoClient(new ObjectMapper(), new SimpleMeterRegistry(), uri,
+                Duration.ofSeconds(1), Duration.ofMillis(300), 8, 2, 50, Duration.ofSeconds(2), Duration.ofMinutes(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        client.shutdown();
+        server.stop(0);
+    }
+
+    @Test
+    void returnsUserInfo() {
+        GoogleUserInfo userInfo = client.fetchUserInfo("ya29.valid").join();
+
+        assertThat(userInfo.getEmail()).isEqualTo("user@example.com");
+        assertThat(userInfo.getName()).isEqualTo("User");
+        assertThat(userInfo.getPicture()).isEqualTo("http://img");
+    }
+
+    @Test
+    void invalidTokenIsUnauthorizedAndDoesNotOpenCircuit() {
+        status = 401;
+        for (int i = 0; i < 15; i++) {
+            assertThat(statusOf(() -> client.fetchUserInfo("ya29.invalid").join())).isEqualTo(HttpStatus.UNAUTHORIZED);
+        }
+        assertThat(hits.get()).isEqualTo(15);
+    }
+
+    @Test
+    void slowResponseTimesOut() {
+        delayMillis = 1_000;
+
+        assertThat(statusOf(() -> client.fetchUserInfo("ya29.slow").join())).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    @Test
+    void repeatedServerErrorsOpenCircuit() {
+        status = 500;
+        for (int i = 0; i < 10; i++) {
+            assertThat(statusOf(() -> client.fetchUserInfo("ya29.any").join())).isEqualTo(HttpStatus.BAD_GATEWAY);
+        }
+
+        // 🔥 차단 이후에는 서버를 호출하지 않고 즉시 503
+        assertThat(statusOf(() -> client.fetchUserInfo("ya29.any").join())).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(hits.get()).isEqualTo(10);
+    }
+
+    private HttpStatus statusOf(Runnable call) {
+        try {
+            call.run();
+        } catch (CompletionException e) {
+            assertThat(e.getCause()).isInstanceOf(ResponseStatusException.class);
+            return HttpStatus.valueOf(((ResponseStatusException) e.getCause()).getStatusCode().value());
+        }
+        return fail("호출이 실패해야 합니다");
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.myblog.service;
+
+import java.time.Duration;
+
+/**
+ * ✅ InMemoryRefreshTokenStore 테스트
+ *
+ * - 모든 저장소 구현체가 따라야 하는 규칙(`RefreshTokenStoreContractTest`)을 서버 메모리 저장소로 확인
+ */
+class InMemoryRefreshTokenStoreTest extends RefreshTokenStoreContractTest {
+
+    @Override
+    protected RefreshTokenStore createStore(int maxSessionsPerUser, Duration reuseGrace) {
+        return new InMemoryRefreshTokenStore(digester, maxSessionsPerUser, reuseGrace);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.myblog.service;
+
+import com.example.myblog.entity.RefreshToken;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+
+/**
+ * ✅ MongoRefreshTokenStore 테스트
+ *
+ * - 실제 MongoDB 컨테이너에서 findAndModify 기반 회전과 저장 후 최대 세션 수 정리가 저장소 규칙을 지키는지 확인
+ * - Docker가 없으면 건너뜀
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class MongoRefreshTokenStoreTest extends RefreshTokenStoreContractTest {
+
+    @Container
+    private static final MongoDBContainer MONGO = new MongoDBContainer(DockerImageName.parse("mongo:7.0"));
+
+    private static MongoClient mongoClient;
+    private static MongoTemplate mongoTemplate;
+
+    @BeforeAll
+    static void connect() {
+        mongoClient = MongoClients.create(MONGO.getReplicaSetUrl());
+        mongoTemplate = new MongoTemplate(mongoClient, "refresh_token_store_test");
+    }
+
+    @AfterAll
+    static void disconnect() {
+        mongoClient.close();
+    }
+
+    @BeforeEach
+    void dropSessions() {
+        mongoTemplate.dropCollection(RefreshToken.class);
+    }
+
+    @Override
+    protected RefreshTokenStore createStore(int maxSessionsPerUser, Duration reuseGrace) {
+        return new MongoRefreshTokenStore(mongoTemplate, digester, maxSessionsPerUser, reuseGrace);
+    }
+}
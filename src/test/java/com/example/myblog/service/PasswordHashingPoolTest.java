@@ -0,0 +1,149 @@
+package com.example.myblog.service;
+
+import com.example.myblog.config.CalibratedPasswordEncoder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * ✅ PasswordHashingPool 테스트
+ *
+ * - 해싱 결과 전달과 후속 단계가 해싱 스레드 밖에서 실행되는지 확인
+ * - 예상 대기 시간 초과 / 큐 가득 참 → 즉시 503 + Retry-After (PoolSaturatedException)
+ * - 가장 낮은 BCrypt 강도(4)와 스레드 1개로 실행
+ */
+class PasswordHashingPoolTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService completionExecutor = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, "completion"));
+    private final PasswordHashingPool pool = new PasswordHashingPool(new CalibratedPasswordEncoder(4), completionExecutor,
+            1, 4, Duration.ofSeconds(5), meterRegistry);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        pool.shutdown();
+        completionExecutor.shutdown();
+    }
+
+    @Test
+    void runsDependentStagesOffHashingThreads() throws Exception {
+        CountDownLatch attached = new CountDownLatch(1);
+        CompletableFuture<String> stage = pool.submit(() -> {
+            await(attached);
+            return "hash";
+        }).thenApply(hash -> {
+            sleep(200); // 🔥 후속 단계의 I/O (MongoDB 저장 등)
+            return Thread.currentThread().getName();
+        });
+        attached.countDown();
+
+        assertThat(stage.get(5, TimeUnit.SECONDS)).isEqualTo("completion");
+
+        // 🔍 해싱 시간에는 후속 단계 시간이 포함되지 않음
+        assertThat(meterRegistry.get("auth.password.hash").timer().max(TimeUnit.MILLISECONDS)).isLessThan(200);
+        assertThat(pool.matches("secret", pool.encode("secret").join()).join()).isTrue();
+    }
+
+    @Test
+    void rejectsWhenEstimatedQueueWaitExceedsLimit() {
+        // 🔍 평균 해싱 시간 초기값 100ms, 스레드 1개 → 대기 작업 2개면 예상 대기 시간 300ms
+        PasswordHashingPool admission = new PasswordHashingPool(new CalibratedPasswordEncoder(4), completionExecutor,
+                1, 16, Duration.ofMillis(250), new SimpleMeterRegistry());
+        try {
+            CompletableFuture<String> running = admission.submit(this::blockUntilReleased);
+            CompletableFuture<String> first = admission.submit(() -> "queued-1");
+            CompletableFuture<String> second = admission.submit(() -> "queued-2");
+
+            assertSaturated(admission.submit(() -> "rejected"), "1");
+            assertThat(admission.getRejectedCount()).isEqualTo(1);
+            assertThat(admission.getQueueDepth()).isEqualTo(2);
+
+            release.countDown();
+            assertThat(CompletableFuture.allOf(running, first, second)).succeedsWithin(Duration.ofSeconds(5));
+        } finally {
+            admission.shutdown();
+        }
+    }
+
+    @Test
+    void rejectsWhenQueueIsFull() {
+        SimpleMeterRegistry boundedRegistry = new SimpleMeterRegistry();
+        PasswordHashingPool bounded = new PasswordHashingPool(new CalibratedPasswordEncoder(4), completionExecutor,
+                1, 1, Duration.ofHours(1), boundedRegistry);
+        try {
+            CompletableFuture<String> running = bounded.submit(this::blockUntilReleased);
+            CompletableFuture<String> queued = bounded.submit(() -> "queued");
+
+            // ❌ 예상 대기 시간은 허용치 안이지만 큐(크기 1)가 가득 참 → 작업을 받지 않고 즉시 실패
+            assertSaturated(bounded.encode("secret"), "1");
+            assertThat(boundedRegistry.get("auth.password.rejected").functionCounter().count()).isEqualTo(1);
+
+            release.countDown();
+            assertThat(queued).succeedsWithin(Duration.ofSeconds(5)).isEqualTo("queued");
+            assertThat(running).succeedsWithin(Duration.ofSeconds(5));
+        } finally {
+            bounded.shutdown();
+        }
+    }
+
+    @Test
+    void reportsHashesBelowCurrentStrengthForUpgrade() {
+        String weakHash = new CalibratedPasswordEncoder(4).encode("secret");
+        PasswordHashingPool stronger = new PasswordHashingPool(new CalibratedPasswordEncoder(5), completionExecutor,
+                1, 4, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        try {
+            assertThat(stronger.needsUpgrade(weakHash)).isTrue();
+            assertThat(pool.needsUpgrade(weakHash)).isFalse();
+            assertThat(stronger.matches("secret", weakHash).join()).isTrue(); // 🔍 낮은 강도 해시도 검증은 가능
+        } finally {
+            stronger.shutdown();
+        }
+    }
+
+    private String blockUntilReleased() {
+        await(release);
+        return "released";
+    }
+
+    private static void assertSaturated(CompletableFuture<?> future, String retryAfter) {
+        assertThat(future).isCompletedExceptionally();
+        assertThatThrownBy(future::join)
+                .hasCauseInstanceOf(PasswordHashingPool.PoolSaturatedException.class)
+                .satisfies(e -> {
+                    PasswordHashingPool.PoolSaturatedException saturated =
+                            (PasswordHashingPool.PoolSaturatedException) e.getCause();
+                    assertThat(saturated.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+                    assertThat(saturated.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo(retryAfter);
+                });
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.myblog.service;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+
+/**
+ * ✅ RedisRefreshTokenStore 테스트
+ *
+ * - 실제 Redis 컨테이너에서 Lua 스크립트(SAVE / ROTATE / REVOKE / REVOKE_ALL / LIST)가 저장소 규칙을 지키는지 확인
+ * - Docker가 없으면 건너뜀
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RedisRefreshTokenStoreTest extends RefreshTokenStoreContractTest {
+
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void flush() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+    }
+
+    @Override
+    protected RefreshTokenStore createStore(int maxSessionsPerUser, Duration reuseGrace) {
+        return new RedisRefreshTokenStore(redisTemplate, digester, maxSessionsPerUser, reuseGrace);
+    }
+}
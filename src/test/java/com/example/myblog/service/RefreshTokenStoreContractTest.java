@@ -0,0 +1,159 @@
+package com.example.myblog.service;
+
+import com.example.myblog.config.RefreshTokenDigester;
+import com.example.myblog.dto.SessionInfo;
+import com.example.myblog.service.RefreshTokenStore.RotationResult;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ✅ RefreshTokenStore 계약 테스트
+ *
+ * - 모든 저장소 구현체(memory / redis / mongo)가 따라야 하는 회전 / 재사용 감지 / 재시도 유예 / 최대 세션 수 / 만료 규칙 확인
+ * - 구현체별 테스트는 이 클래스를 상속하고 빈 저장소를 만드는 방법만 제공
+ */
+abstract class RefreshTokenStoreContractTest {
+
+    protected static final Duration TTL = Duration.ofDays(7);
+
+    protected final RefreshTokenDigester digester =
+            new RefreshTokenDigester(Base64.getEncoder().encodeToString(new byte[32]), "binary");
+
+    /**
+     * ✅ 비어 있는 저장소 생성
+     *
+     * @param maxSessionsPerUser 사용자당 최대 세션 수
+     * @param reuseGrace 직전 토큰을 재시도로 허용하는 시간
+     */
+    protected abstract RefreshTokenStore createStore(int maxSessionsPerUser, Duration reuseGrace);
+
+    @Test
+    void rotatesCurrentTokenAndRevokesSessionOnReuse() {
+        RefreshTokenStore store = createStore(2, Duration.ZERO);
+        store.save("alice", "s1", "token-1", TTL, "laptop");
+
+        assertThat(store.rotate("alice", "s1", "token-1", "token-2", TTL)).isEqualTo(RotationResult.ROTATED);
+        assertThat(store.matches("alice", "s1", "token-2")).isTrue();
+        assertThat(store.matches("alice", "s1", "token-1")).isFalse();
+
+        // 🔥 이미 소비된 token-1 재사용 → 세션 폐기, 이후 token-2도 사용 불가
+        assertThat(store.rotate("alice", "s1", "token-1", "token-3", TTL)).isEqualTo(RotationResult.REUSED);
+        assertThat(store.exists("alice", "s1")).isFalse();
+        assertThat(store.rotate("alice", "s1", "token-2", "token-3", TTL)).isEqualTo(RotationResult.NOT_FOUND);
+    }
+
+    @Test
+    void treatsPreviousTokenWithinGraceAsRetry() {
+        RefreshTokenStore store = createStore(2, Duration.ofMinutes(1));
+        store.save("alice", "s1", "token-1", TTL, "laptop");
+        store.rotate("alice", "s1", "token-1", "token-2", TTL);
+
+        // 🔄 응답을 받지 못한 클라이언트의 재시도 → 세션 유지, 새 토큰 추가 (먼저 받은 token-2도 유효)
+        assertThat(store.rotate("alice", "s1", "token-1", "token-3", TTL)).isEqualTo(RotationResult.RETRIED);
+        assertThat(store.matches("alice", "s1", "token-3")).isTrue();
+        assertThat(store.matches("alice", "s1", "token-2")).isTrue();
+        assertThat(store.rotate("alice", "s1", "token-3", "token-4", TTL)).isEqualTo(RotationResult.ROTATED);
+
+        // ❌ 현재/직전 토큰이 아니면 여전히 재사용으로 판단
+        assertThat(store.rotate("alice", "s1", "token-2", "token-5", TTL)).isEqualTo(RotationResult.REUSED);
+        assertThat(store.exists("alice", "s1")).isFalse();
+    }
+
+    @Test
+    void keepsWinnerTokenValidAfterConcurrentRetry() {
+        RefreshTokenStore store = createStore(2, Duration.ofMinutes(1));
+        store.save("alice", "s1", "token-0", TTL, "laptop");
+
+        // 🔄 두 탭이 같은 token-0으로 동시에 갱신 → 먼저 도착한 요청이 token-1, 늦은 요청이 token-2를 받음
+        assertThat(store.rotate("alice", "s1", "token-0", "token-1", TTL)).isEqualTo(RotationResult.ROTATED);
+        assertThat(store.rotate("alice", "s1", "token-0", "token-2", TTL)).isEqualTo(RotationResult.RETRIED);
+
+        // ✅ 먼저 회전에 성공한 탭의 token-1도 계속 갱신 가능 (세션 폐기 없음)
+        assertThat(store.rotate("alice", "s1", "token-1", "token-3", TTL)).isEqualTo(RotationResult.ROTATED);
+        assertThat(store.matches("alice", "s1", "token-3")).isTrue();
+    }
+
+    @Test
+    void rotatesFromAnyRetryTokenWithinLimit() {
+        RefreshTokenStore store = createStore(2, Duration.ofMinutes(1));
+        store.save("alice", "s1", "token-0", TTL, "laptop");
+        store.rotate("alice", "s1", "token-0", "token-1", TTL);
+        for (int i = 0; i <= RefreshTokenStore.MAX_RETRY_TOKENS; i++) {
+            assertThat(store.rotate("alice", "s1", "token-0", "retry-" + i, TTL)).isEqualTo(RotationResult.RETRIED);
+        }
+
+        // 🔍 재시도 토큰은 최근 MAX_RETRY_TOKENS개까지만 인정 (가장 먼저 발급한 retry-0은 무효)
+        assertThat(store.matches("alice", "s1", "token-1")).isTrue();
+        assertThat(store.matches("alice", "s1", "retry-0")).isFalse();
+        assertThat(store.matches("alice", "s1", "retry-1")).isTrue();
+        assertThat(store.rotate("alice", "s1", "retry-" + RefreshTokenStore.MAX_RETRY_TOKENS, "token-2", TTL))
+                .isEqualTo(RotationResult.ROTATED);
+
+        // 🔥 회전이 일어나면 나머지 토큰은 소비된 것으로 봄 → 재사용 감지
+        assertThat(store.matches("alice", "s1", "token-1")).isFalse();
+        assertThat(store.rotate("alice", "s1", "token-1", "token-3", TTL)).isEqualTo(RotationResult.REUSED);
+    }
+
+    @Test
+    void keepsOtherDevicesAndEvictsBeyondLimit() {
+        RefreshTokenStore store = createStore(2, Duration.ZERO);
+        store.save("alice", "s1", "token-1", Duration.ofDays(1), "phone");
+        store.save("alice", "s2", "token-2", Duration.ofDays(2), "laptop");
+        assertThat(store.save("alice", "s3", "token-3", Duration.ofDays(3), "tablet")).isEqualTo(1);
+
+        // 🔍 만료가 가장 가까운 s1이 제거되고 나머지는 유지 (만료 시각 순)
+        List<SessionInfo> sessions = store.findSessions("alice");
+        assertThat(sessions).extracting(SessionInfo::getSessionId).containsExactly("s2", "s3");
+        assertThat(sessions).extracting(SessionInfo::getDevice).containsExactly("laptop", "tablet");
+        assertThat(sessions.get(0).getCreatedAt()).isNotNull();
+        assertThat(store.exists("alice", "s1")).isFalse();
+
+        assertThat(store.delete("alice", "s2")).isTrue();
+        assertThat(store.delete("alice", "s2")).isFalse();
+        assertThat(store.exists("alice", null)).isTrue();
+        assertThat(store.deleteAll("alice")).isEqualTo(1);
+        assertThat(store.exists("alice", null)).isFalse();
+    }
+
+    @Test
+    void deletesSessionsOfSeveralSubjectsOnly() {
+        RefreshTokenStore store = createStore(2, Duration.ZERO);
+        store.save("alice", "s1", "token-1", TTL, null);
+        store.save("alice", "s2", "token-2", TTL, null);
+        store.save("bob", "s3", "token-3", TTL, null);
+        store.save("carol", "s4", "token-4", TTL, null);
+
+        assertThat(store.deleteAll(List.of("alice", "bob"))).isEqualTo(3);
+        assertThat(store.exists("alice", null)).isFalse();
+        assertThat(store.exists("bob", null)).isFalse();
+        assertThat(store.matches("carol", "s4", "token-4")).isTrue();
+    }
+
+    @Test
+    void ignoresExpiredSessions() throws InterruptedException {
+        RefreshTokenStore store = createStore(2, Duration.ZERO);
+        store.save("alice", "s1", "token-1", Duration.ofMillis(200), "phone");
+        store.save("alice", "s2", "token-2", TTL, "laptop");
+        store.save("bob", "b1", "token-b1", Duration.ofMillis(200), "phone");
+        store.save("bob", "b2", "token-b2", TTL, "laptop");
+        Thread.sleep(400);
+
+        // 🔍 만료된 세션은 없는 세션과 같게 취급 (재사용으로 판단하지 않음)
+        assertThat(store.exists("alice", "s1")).isFalse();
+        assertThat(store.matches("alice", "s1", "token-1")).isFalse();
+        assertThat(store.rotate("alice", "s1", "token-1", "token-3", TTL)).isEqualTo(RotationResult.NOT_FOUND);
+        assertThat(store.findSessions("alice")).extracting(SessionInfo::getSessionId).containsExactly("s2");
+
+        // 🔍 만료된 세션은 최대 세션 수에 포함되지 않음
+        assertThat(store.save("alice", "s3", "token-3", TTL, "tablet")).isZero();
+
+        // 🔍 전체 로그아웃의 삭제 수에도 만료된 세션은 포함되지 않음
+        assertThat(store.deleteAll("bob")).isEqualTo(1);
+        assertThat(store.deleteAll(List.of("alice", "bob"))).isEqualTo(2);
+    }
+}
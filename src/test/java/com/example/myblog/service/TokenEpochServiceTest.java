@@ -0,0 +1,138 @@
+package com.example.myblog.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ✅ TokenEpochService 테스트
+ *
+ * - Redis 장애 시 거부(fail-closed) / 허용(fail-open), 로컬 값과 Redis 값의 큰 쪽 반영, 세대 번호 증가 후 이전 `ver` 거부 확인
+ * - Redis는 목 객체
+ */
+class TokenEpochServiceTest {
+
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    TokenEpochServiceTest() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    void rejectsUnknownSubjectWhenRedisIsDown() {
+        when(valueOperations.get("token_epoch:alice")).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(service(false).isRevoked("alice", 0)).isTrue();
+        assertThat(meterRegistry.get("auth.jwt.token_epoch.unavailable").tag("decision", "reject").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void acceptsUnknownSubjectWhenFailOpen() {
+        when(valueOperations.get("token_epoch:alice")).thenThrow(new RedisConnectionFailureException("down"));
+
+        assertThat(service(true).isRevoked("alice", 0)).isFalse();
+        assertThat(meterRegistry.get("auth.jwt.token_epoch.unavailable").tag("decision", "accept").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void keepsLastKnownEpochWhenRedisIsDown() {
+        when(valueOperations.get("token_epoch:alice")).thenReturn("2");
+        TokenEpochService service = service(false);
+        assertThat(service.current("alice")).isEqualTo(2);
+
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("down"));
+        service.refreshLocal();
+
+        // 🔍 동기화에 실패해도 캐시를 비우지 않음 → 요청 경로는 Redis 없이 판단
+        assertThat(service.isRevoked("alice", 2)).isFalse();
+        assertThat(service.isRevoked("alice", 1)).isTrue();
+    }
+
+    @Test
+    void mergesLocalAndRemoteEpochsByMaximum() {
+        when(valueOperations.get("token_epoch:alice")).thenReturn("3");
+        when(valueOperations.get("token_epoch:bob")).thenReturn("1");
+        TokenEpochService service = service(false);
+        service.current("alice");
+        service.current("bob");
+
+        // 🔄 늦게 도착한 낮은 값의 메시지는 무시
+        service.onMessage(message("2 alice"), null);
+        assertThat(service.current("alice")).isEqualTo(3);
+
+        // 🔥 주기 동기화는 키마다 GET을 파이프라인으로 보냄 (MGET은 클러스터에서 CROSSSLOT)
+        Map<String, String> remote = new HashMap<>();
+        remote.put("token_epoch:alice", null); // 🔍 키 없음 = 0 → 로컬 값 3 유지
+        remote.put("token_epoch:bob", "5");
+        List<String> requestedKeys = new ArrayList<>();
+        StringRedisConnection connection = mock(StringRedisConnection.class);
+        when(connection.get(anyString())).thenAnswer(invocation -> {
+            requestedKeys.add(invocation.getArgument(0));
+            return null; // 파이프라인에서는 응답이 executePipelined 결과로 돌아옴
+        });
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return requestedKeys.stream().map(remote::get).toList();
+        });
+        service.refreshLocal();
+
+        assertThat(requestedKeys).containsExactlyInAnyOrder("token_epoch:alice", "token_epoch:bob");
+        verify(valueOperations, never()).multiGet(anyList());
+        assertThat(service.current("alice")).isEqualTo(3);
+        assertThat(service.current("bob")).isEqualTo(5);
+    }
+
+    @Test
+    void bumpRevokesTokensWithOlderVersion() {
+        when(valueOperations.get("token_epoch:alice")).thenReturn("1");
+        when(redisTemplate.execute(any(RedisScript.class), eq(List.of("token_epoch:alice")),
+                eq("token_epoch:channel"), eq("alice"))).thenReturn(2L);
+        TokenEpochService service = service(false);
+        assertThat(service.isRevoked("alice", 1)).isFalse();
+
+        assertThat(service.bump("alice")).isEqualTo(2);
+
+        assertThat(service.isRevoked("alice", 1)).isTrue();
+        assertThat(service.isRevoked("alice", 2)).isFalse();
+        assertThat(service.current("alice")).isEqualTo(2);
+    }
+
+    private TokenEpochService service(boolean failOpen) {
+        return new TokenEpochService(redisTemplate, mock(RedisMessageListenerContainer.class), 1000,
+                Duration.ofMinutes(30), failOpen, meterRegistry);
+    }
+
+    private static DefaultMessage message(String body) {
+        return new DefaultMessage("token_epoch:channel".getBytes(StandardCharsets.UTF_8), body.getBytes(StandardCharsets.UTF_8));
+    }
+}
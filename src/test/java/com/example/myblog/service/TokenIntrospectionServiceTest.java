@@ -0,0 +1,51 @@
+package com.example.myblog.service;
+
+import com.example.myblog.config.JwtUtil;
+import com.example.myblog.dto.IntrospectionResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * ✅ TokenIntrospectionService 테스트
+ *
+ * - 병렬 일괄 검사에서도 요청 순서대로 결과가 반환되는지, 폐기/Refresh Token/잘못된 토큰이 비활성으로 응답되는지 확인
+ */
+class TokenIntrospectionServiceTest {
+
+    private final JwtUtil jwtUtil = new JwtUtil(Base64.getEncoder().encodeToString(new byte[32]));
+    private final TokenIntrospectionService service = new TokenIntrospectionService(jwtUtil,
+            List.of(claims -> "revoked".equals(claims.getSubject())), Executors.newFixedThreadPool(2),
+            new SimpleMeterRegistry(), 2, 10, 100, Duration.ofSeconds(5));
+
+    @Test
+    void keepsRequestOrderInParallelBatch() {
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            tokens.add(jwtUtil.generateAccessToken("user-" + i, Set.of("ROLE_USER"), "s" + i, 0));
+        }
+        tokens.add("not-a-jwt");
+
+        List<IntrospectionResponse> results = service.introspectAll(tokens);
+
+        assertThat(results).hasSize(6);
+        assertThat(results.subList(0, 5)).extracting(IntrospectionResponse::getSub)
+                .containsExactly("user-0", "user-1", "user-2", "user-3", "user-4");
+        assertThat(results.get(5).isActive()).isFalse();
+    }
+
+    @Test
+    void reportsRevokedAndRefreshTokensAsInactive() {
+        assertThat(service.introspect(jwtUtil.generateAccessToken("revoked", Set.of()))).isSameAs(IntrospectionResponse.INACTIVE);
+        assertThat(service.introspect(jwtUtil.generateRefreshToken("alice"))).isSameAs(IntrospectionResponse.INACTIVE);
+        assertThat(service.introspect(jwtUtil.generateAccessToken("alice", Set.of("ROLE_USER"))).isActive()).isTrue();
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.myblog.service;
+
+import com.example.myblog.dto.UserAuthView;
+import com.example.myblog.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ✅ UserNearCache Redis 테스트
+ *
+ * - 실제 Redis 컨테이너에서 L2 채우기(FILL) / 툼스톤(INVALIDATE) 스크립트 확인
+ *   - 무효화 후 툼스톤이 남아 있는 동안에는 다른 서버가 변경 전 값을 다시 채우지 못함
+ * - 서버마다 L1이 따로 있으므로 서버 하나를 `UserNearCache` 인스턴스 하나로 흉내
+ * - Docker가 없으면 건너뜀
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class UserNearCacheRedisTest {
+
+    private static final Duration TOMBSTONE_TTL = Duration.ofMillis(300);
+
+    @Container
+    private static final GenericContainer<?> REDIS =
+            new GenericContainer<>(DockerImageName.parse("redis:7-alpine")).withExposedPorts(6379);
+
+    private static LettuceConnectionFactory connectionFactory;
+    private static StringRedisTemplate redisTemplate;
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @BeforeAll
+    static void connect() {
+        connectionFactory = new LettuceConnectionFactory(REDIS.getHost(), REDIS.getMappedPort(6379));
+        connectionFactory.afterPropertiesSet();
+        redisTemplate = new StringRedisTemplate(connectionFactory);
+    }
+
+    @AfterAll
+    static void disconnect() {
+        connectionFactory.destroy();
+    }
+
+    @BeforeEach
+    void flush() {
+        redisTemplate.execute((RedisCallback<Object>) connection -> {
+            connection.serverCommands().flushDb();
+            return null;
+        });
+    }
+
+    @Test
+    void replacesEntryWithTombstoneAndRefillsAfterItExpires() throws InterruptedException {
+        UserAuthView alice = mock(UserAuthView.class);
+        when(alice.getUsername()).thenReturn("alice");
+        when(alice.getRoles()).thenReturn(Set.of("ROLE_USER"));
+        when(userRepository.findAuthViewByUsername("alice")).thenReturn(Optional.of(alice));
+
+        server().findByUsername("alice");
+        assertThat(redisTemplate.opsForHash().entries("user_cache:u:alice"))
+                .containsEntry("username", "alice").containsEntry("roles", "ROLE_USER");
+
+        // 🔥 변경한 서버: L2 항목을 툼스톤으로 교체 (짧은 TTL)
+        server().onUserChanged(new UserChangedEvent("alice"));
+        assertThat(redisTemplate.opsForHash().entries("user_cache:u:alice")).isEqualTo(Map.of("tombstone", "1"));
+        assertThat(redisTemplate.getExpire("user_cache:u:alice", TimeUnit.MILLISECONDS))
+                .isPositive().isLessThanOrEqualTo(TOMBSTONE_TTL.toMillis());
+
+        // 🔍 툼스톤이 있는 동안 다른 서버는 L2 미스 → MongoDB를 읽지만 L2를 다시 채우지 않음
+        assertThat(server().findByUsername("alice")).isPresent();
+        assertThat(redisTemplate.opsForHash().entries("user_cache:u:alice")).isEqualTo(Map.of("tombstone", "1"));
+
+        // ✅ 툼스톤이 만료되면 다시 채우고, 그 뒤 다른 서버는 MongoDB 없이 L2에서 읽음
+        Thread.sleep(TOMBSTONE_TTL.toMillis() + 200);
+        server().findByUsername("alice");
+        assertThat(redisTemplate.opsForHash().entries("user_cache:u:alice")).containsEntry("username", "alice");
+        assertThat(server().findByUsername("alice").orElseThrow().getRoles()).containsExactly("ROLE_USER");
+        verify(userRepository, times(3)).findAuthViewByUsername("alice");
+    }
+
+    private UserNearCache server() {
+        return new UserNearCache(userRepository, redisTemplate, mock(ApplicationEventPublisher.class),
+                mock(RedisMessageListenerContainer.class), 100, Duration.ofMinutes(1), Duration.ofMinutes(10),
+                TOMBSTONE_TTL, new SimpleMeterRegistry());
+    }
+}
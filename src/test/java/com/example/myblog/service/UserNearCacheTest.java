@@ -0,0 +1,113 @@
+package com.example.myblog.service;
+
+import com.example.myblog.dto.UserAuthView;
+import com.example.myblog.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * ✅ UserNearCache 테스트
+ *
+ * - 조회 도중 무효화되면 변경 전 값을 L1에 남기지 않는지(세대 번호), 이메일 키 정규화로 무효화가 맞아떨어지는지 확인
+ * - Redis는 목 객체 (L2는 항상 미스), 툼스톤/채우기 스크립트는 `UserNearCacheRedisTest`에서 실제 Redis로 확인
+ */
+class UserNearCacheTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final StringRedisTemplate redisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+    private final UserNearCache cache;
+
+    UserNearCacheTest() {
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+        cache = new UserNearCache(userRepository, redisTemplate, mock(ApplicationEventPublisher.class),
+                mock(RedisMessageListenerContainer.class), 100, Duration.ofMinutes(1), Duration.ofMinutes(10),
+                Duration.ofSeconds(5), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void dropsValueLoadedBeforeConcurrentInvalidation() {
+        UserAuthView before = user("alice", "ROLE_USER");
+        UserAuthView after = user("alice", "ROLE_ADMIN");
+        when(userRepository.findAuthViewByUsername("alice"))
+                .thenAnswer(invocation -> {
+                    // 🔥 MongoDB 조회 도중 다른 요청이 역할을 바꾸고 무효화 → 이 조회 결과는 변경 전 값
+                    cache.onUserChanged(new UserChangedEvent(Set.of("alice"), true));
+                    return Optional.of(before);
+                })
+                .thenReturn(Optional.of(after));
+
+        assertThat(cache.findByUsername("alice").orElseThrow().getRoles()).containsExactly("ROLE_USER");
+
+        // ✅ 변경 전 값은 L1에 남지 않으므로 다음 조회는 새 값을 읽고, 그 값은 L1에 남음
+        assertThat(cache.findByUsername("alice").orElseThrow().getRoles()).containsExactly("ROLE_ADMIN");
+        assertThat(cache.findByUsername("alice").orElseThrow().getRoles()).containsExactly("ROLE_ADMIN");
+        verify(userRepository, times(2)).findAuthViewByUsername("alice");
+    }
+
+    @Test
+    void normalizesEmailKeysSoChangeEventsMatch() {
+        UserAuthView alice = user("alice", "ROLE_USER");
+        when(userRepository.findAuthViewByEmail(anyString())).thenReturn(Optional.of(alice));
+
+        cache.findByEmail("Alice@Example.com");
+        cache.findByEmail("alice@example.com");
+
+        // 🔍 대소문자가 달라도 같은 키 (MongoDB 조회에는 받은 식별자를 그대로 사용)
+        verify(hashOperations).entries("user_cache:e:alice@example.com");
+        verify(userRepository).findAuthViewByEmail("Alice@Example.com");
+        verify(userRepository, never()).findAuthViewByEmail("alice@example.com");
+
+        StringRedisConnection connection = mock(StringRedisConnection.class);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            invocation.<RedisCallback<?>>getArgument(0).doInRedis(connection);
+            return List.of();
+        });
+        cache.onUserChanged(new UserChangedEvent("ALICE@example.com"));
+
+        // 🔥 변경 이벤트의 이메일도 같은 규칙으로 정규화 → L1 제거 + L2 툼스톤
+        verify(connection).eval(anyString(), eq(ReturnType.INTEGER), eq(1),
+                eq("user_cache:e:alice@example.com"), eq("tombstone"), eq("5000"));
+        cache.findByEmail("alice@example.com");
+        verify(userRepository).findAuthViewByEmail("alice@example.com");
+    }
+
+    @Test
+    void leavesRedisToOriginatingServerForRemoteChanges() {
+        cache.onUserChanged(new UserChangedEvent(Set.of("alice"), true));
+
+        verify(redisTemplate, never()).executePipelined(any(RedisCallback.class));
+        verify(redisTemplate, never()).convertAndSend(anyString(), any());
+    }
+
+    private static UserAuthView user(String username, String role) {
+        UserAuthView user = mock(UserAuthView.class);
+        when(user.getUsername()).thenReturn(username);
+        when(user.getEmail()).thenReturn(username + "@example.com");
+        when(user.getRoles()).thenReturn(Set.of(role));
+        return user;
+    }
+}